@@ -0,0 +1,66 @@
+package com.bootcamp.dscatalog.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bootcamp.dscatalog.dto.CategoryDTO;
+import com.bootcamp.dscatalog.dto.ProductDTO;
+import com.bootcamp.dscatalog.dto.UserDTO;
+import com.bootcamp.dscatalog.entities.Category;
+import com.bootcamp.dscatalog.entities.Product;
+import com.bootcamp.dscatalog.entities.User;
+
+/*
+ * Conversão entidade -> DTO feita a cada item de página nas respostas da API.
+ * Com -prof gc o resultado inclui gc.alloc.rate.norm (bytes alocados por operação).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+	private Product product;
+	private User user;
+	private Category category;
+
+	@Setup
+	public void setup() {
+		product = Fixtures.product(1L);
+		user = Fixtures.user(1L);
+		category = Fixtures.CATEGORIES.get(0);
+	}
+
+	@Benchmark
+	public ProductDTO productDto() {
+		return new ProductDTO(product);
+	}
+
+	@Benchmark
+	public ProductDTO productDtoWithCategories() {
+		return new ProductDTO(product, product.getCategories());
+	}
+
+	@Benchmark
+	public UserDTO userDto() {
+		return new UserDTO(user);
+	}
+
+	@Benchmark
+	public CategoryDTO categoryDto() {
+		return new CategoryDTO(category);
+	}
+
+}
@@ -0,0 +1,52 @@
+package com.bootcamp.dscatalog.benchmarks;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.bootcamp.dscatalog.entities.Category;
+import com.bootcamp.dscatalog.entities.Product;
+import com.bootcamp.dscatalog.entities.Role;
+import com.bootcamp.dscatalog.entities.User;
+
+// Entidades com o tamanho típico do catálogo (mesma ordem de grandeza do import.sql).
+final class Fixtures {
+
+	static final String DESCRIPTION = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor "
+			+ "incididunt ut labore et dolore magna aliqua. Ut enim ad minim veniam, quis nostrud exercitation "
+			+ "ullamco laboris nisi ut aliquip ex ea commodo consequat.";
+
+	static final List<Category> CATEGORIES = List.of(
+			new Category(1L, "Livros"),
+			new Category(2L, "Eletrônicos"),
+			new Category(3L, "Computadores"));
+
+	private Fixtures() {
+	}
+
+	static Product product(long id) {
+		Product product = new Product(id, "Produto " + id, DESCRIPTION, 1250.0 + id,
+				"https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/" + id + "-big.jpg",
+				Instant.parse("2020-07-13T20:50:07.12345Z"));
+		product.getCategories().add(CATEGORIES.get((int) (id % CATEGORIES.size())));
+		product.getCategories().add(CATEGORIES.get((int) ((id + 1) % CATEGORIES.size())));
+		return product;
+	}
+
+	static List<Product> products(int size) {
+		List<Product> list = new ArrayList<>(size);
+		for (int i = 1; i <= size; i++) {
+			list.add(product(i));
+		}
+		return list;
+	}
+
+	static User user(long id) {
+		User user = new User(id, "Maria", "Green", "maria" + id + "@gmail.com",
+				"$2a$10$eACCYoNOHEqXve8aIWT8Nu3PkMXWBaOxJ9aORUYzfMQCbVBIhZ8tG");
+		user.getRoles().add(new Role(1L, "ROLE_OPERATOR"));
+		user.getRoles().add(new Role(2L, "ROLE_ADMIN"));
+		return user;
+	}
+
+}
@@ -0,0 +1,76 @@
+package com.bootcamp.dscatalog.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.bootcamp.dscatalog.dto.ProductDTO;
+import com.bootcamp.dscatalog.entities.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/*
+ * Serialização de Page<ProductDTO> como em GET /products: 12 é o tamanho usado pelo front-end,
+ * 20 o padrão do Spring Data e 100 uma página de listagem administrativa.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+	@Param({ "12", "20", "100" })
+	private int pageSize;
+
+	private ObjectMapper mapper;
+	private List<Product> products;
+	private Page<ProductDTO> page;
+
+	@Setup
+	public void setup() {
+		// Mesma configuração que o Spring Boot aplica ao ObjectMapper da aplicação.
+		mapper = Jackson2ObjectMapperBuilder.json()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.build();
+		products = Fixtures.products(pageSize);
+		page = toPage(products);
+	}
+
+	@Benchmark
+	public byte[] serializePage() throws JsonProcessingException {
+		return mapper.writeValueAsBytes(page);
+	}
+
+	// Conversão e serialização juntas, como acontece por requisição.
+	@Benchmark
+	public byte[] mapAndSerializePage() throws JsonProcessingException {
+		return mapper.writeValueAsBytes(toPage(products));
+	}
+
+	private Page<ProductDTO> toPage(List<Product> products) {
+		List<ProductDTO> content = products.stream()
+				.map(product -> new ProductDTO(product, product.getCategories()))
+				.collect(Collectors.toList());
+		return new PageImpl<>(content, PageRequest.of(0, pageSize), 1000);
+	}
+
+}
@@ -0,0 +1,83 @@
+package com.bootcamp.dscatalog.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.bootcamp.dscatalog.dto.ProductDTO;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/*
+ * Custo e tamanho de uma página de produtos em cada codificação negociável (JSON, Smile, CBOR),
+ * com e sem gzip como o Tomcat aplica (server.compression). O tamanho em bytes de cada
+ * combinação sai no console no início de cada trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+	@Param({ "12", "20", "100" })
+	private int pageSize;
+
+	@Param({ "json", "smile", "cbor" })
+	private String encoding;
+
+	@Param({ "false", "true" })
+	private boolean gzip;
+
+	private ObjectMapper mapper;
+	private Page<ProductDTO> page;
+
+	@Setup
+	public void setup() throws IOException {
+		JsonFactory factory = encoding.equals("smile") ? new SmileFactory()
+				: encoding.equals("cbor") ? new CBORFactory() : new JsonFactory();
+		mapper = Jackson2ObjectMapperBuilder.json()
+				.factory(factory)
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.build();
+		List<ProductDTO> content = Fixtures.products(pageSize).stream()
+				.map(product -> new ProductDTO(product, product.getCategories()))
+				.collect(Collectors.toList());
+		page = new PageImpl<>(content, PageRequest.of(0, pageSize), 1000);
+		System.out.printf("%n%s%s, página de %d: %d bytes%n", encoding, gzip ? "+gzip" : "", pageSize, encode().length);
+	}
+
+	@Benchmark
+	public byte[] encode() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+		try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+			mapper.writeValue(out, page);
+		}
+		return bytes.toByteArray();
+	}
+
+}
@@ -1,5 +1,8 @@
 package com.bootcamp.dscatalog.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -7,9 +10,42 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 @Configuration
 public class AppConfig {
 	
+	private static final Logger LOG = LoggerFactory.getLogger(AppConfig.class);
+	
+	@Value("${dscatalog.password.strength:}")
+	private Integer strength;
+	
+	@Value("${dscatalog.password.target-hash-ms}")
+	private long targetHashMillis;
+	
+	@Value("${dscatalog.password.min-strength}")
+	private int minStrength;
+	
+	@Value("${dscatalog.password.max-strength}")
+	private int maxStrength;
+	
 	@Bean
 	public BCryptPasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+		int chosen = strength != null ? strength : calibrateStrength(targetHashMillis, minStrength, maxStrength);
+		LOG.info("BCrypt strength {} (alvo de {} ms por hash)", chosen, targetHashMillis);
+		return new BCryptPasswordEncoder(chosen);
+	}
+	
+	// Mede um hash na força mínima e, como cada nível dobra o custo, escolhe a maior força
+	// cujo tempo estimado não passa do alvo (nunca abaixo da mínima).
+	static int calibrateStrength(long targetMillis, int min, int max) {
+		BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(min);
+		encoder.encode("calibragem");
+		long start = System.nanoTime();
+		encoder.encode("calibragem");
+		double millis = Math.max((System.nanoTime() - start) / 1_000_000.0, 0.01);
+		
+		int chosen = min;
+		while (chosen < max && millis * 2 <= targetMillis) {
+			millis *= 2;
+			chosen++;
+		}
+		return chosen;
 	}
 	
 }
@@ -0,0 +1,81 @@
+package com.bootcamp.dscatalog.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.serializer.support.SerializationDelegate;
+import org.springframework.util.StringUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+/*
+ * Caches Caffeine configurados por spring.cache.*, com duas diferenças em relação ao da auto-configuração:
+ * - dentro de uma transação, put e evict só são aplicados no commit (e descartados no rollback), então
+ *   uma leitura concorrente não recoloca no cache o valor anterior à escrita;
+ * - os valores são guardados serializados e cada leitura devolve uma cópia, então quem recebe um
+ *   DTO do cache pode alterá-lo sem afetar os outros chamadores.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+	public static final String CATEGORIES = "categories";
+	public static final String CATEGORY_PAGES = "categoryPages";
+	public static final String PRODUCT_COUNTS = "productCounts";
+
+	@Bean
+	public CacheManager cacheManager(CacheProperties properties) {
+		CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+			@Override
+			protected CaffeineCache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+				return new ByValueCaffeineCache(name, cache, isAllowNullValues());
+			}
+		};
+		String spec = properties.getCaffeine().getSpec();
+		if (StringUtils.hasText(spec)) {
+			cacheManager.setCacheSpecification(spec);
+		}
+		cacheManager.setCacheNames(properties.getCacheNames());
+		return new TransactionAwareCacheManagerProxy(cacheManager);
+	}
+
+	public static class ByValueCaffeineCache extends CaffeineCache {
+
+		private final SerializationDelegate serialization = new SerializationDelegate(getClass().getClassLoader());
+
+		public ByValueCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+			super(name, cache, allowNullValues);
+		}
+
+		@Override
+		protected Object toStoreValue(Object userValue) {
+			Object storeValue = super.toStoreValue(userValue);
+			try {
+				return serialization.serializeToByteArray(storeValue);
+			} catch (Exception e) {
+				throw new IllegalArgumentException("Failed to serialize value for cache " + getName(), e);
+			}
+		}
+
+		@Override
+		protected Object fromStoreValue(Object storeValue) {
+			if (storeValue == null) {
+				return null;
+			}
+			try {
+				return super.fromStoreValue(serialization.deserializeFromByteArray((byte[]) storeValue));
+			} catch (Exception e) {
+				throw new IllegalArgumentException("Failed to deserialize value from cache " + getName(), e);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,88 @@
+package com.bootcamp.dscatalog.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.bootcamp.dscatalog.config.RoutingDataSourceProperties.Replica;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * Com dscatalog.datasource.routing.enabled=true a primária vem de spring.datasource.* e as
+ * réplicas de dscatalog.datasource.routing.replicas[n].*; sem a propriedade vale o DataSource
+ * padrão do Spring Boot.
+ */
+@Configuration
+@ConditionalOnProperty(name = "dscatalog.datasource.routing.enabled", havingValue = "true")
+public class DataSourceConfig {
+
+	private ReadWriteRoutingDataSource routing;
+
+	@Bean
+	@ConfigurationProperties("dscatalog.datasource.routing")
+	public RoutingDataSourceProperties routingDataSourceProperties() {
+		return new RoutingDataSourceProperties();
+	}
+
+	/*
+	 * Só o proxy é bean: primária e roteamento como beans DataSource entrariam em ciclo com a
+	 * inicialização do DataSource do Spring Boot. Métricas hikaricp_* da primária chegam pelo
+	 * unwrap; as réplicas registram as suas (tag pool).
+	 */
+	@Bean
+	@Primary
+	public DataSource dataSource(DataSourceProperties dataSourceProperties, Environment environment,
+			RoutingDataSourceProperties properties, MeterRegistry registry) {
+		HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+		primary.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+
+		List<HikariDataSource> replicas = new ArrayList<>();
+		for (int i = 0; i < properties.getReplicas().size(); i++) {
+			Replica replica = properties.getReplicas().get(i);
+			HikariDataSource pool = new HikariDataSource();
+			pool.setPoolName("replica-" + i);
+			pool.setJdbcUrl(replica.getUrl());
+			pool.setUsername(replica.getUsername());
+			pool.setPassword(replica.getPassword());
+			pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+			pool.setReadOnly(true);
+			pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+			replicas.add(pool);
+		}
+		routing = new ReadWriteRoutingDataSource(primary, replicas, properties, registry);
+		return new LazyConnectionDataSourceProxy(routing);
+	}
+
+	@Scheduled(fixedDelayString = "${dscatalog.datasource.routing.check-interval-ms:5000}")
+	public void checkReplicas() {
+		if (routing != null) {
+			routing.checkReplicas();
+		}
+	}
+
+	@PreDestroy
+	public void close() {
+		if (routing != null) {
+			routing.close();
+		}
+	}
+
+}
@@ -0,0 +1,29 @@
+package com.bootcamp.dscatalog.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.bootcamp.dscatalog.services.PasswordHashingService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Configuration
+public class MetricsConfig {
+
+	// Saturação do pool de hash de senhas (fila cheia = 503 no cadastro).
+	@Bean
+	public MeterBinder passwordHashingMetrics(PasswordHashingService service) {
+		return registry -> {
+			Gauge.builder("dscatalog.password.pool.size", service, PasswordHashingService::getPoolSize)
+					.register(registry);
+			Gauge.builder("dscatalog.password.pool.active", service, PasswordHashingService::getActiveCount)
+					.register(registry);
+			Gauge.builder("dscatalog.password.queue.size", service, PasswordHashingService::getQueueSize)
+					.register(registry);
+			Gauge.builder("dscatalog.password.queue.remaining", service, PasswordHashingService::getQueueRemainingCapacity)
+					.register(registry);
+		};
+	}
+
+}
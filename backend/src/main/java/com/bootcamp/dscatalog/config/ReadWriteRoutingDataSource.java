@@ -0,0 +1,187 @@
+package com.bootcamp.dscatalog.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.bootcamp.dscatalog.config.RoutingDataSourceProperties.Strategy;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * Transações readOnly vão para uma réplica (round-robin ou a de menos conexões em uso) e o resto
+ * para a primária. Precisa ficar atrás de um LazyConnectionDataSourceProxy: a conexão só é obtida
+ * no primeiro comando, quando a transação já está marcada como readOnly.
+ * Réplicas com atraso acima de max-lag-ms, ou que falharam ao conectar, saem da rotação até a
+ * próxima verificação; sem réplica disponível a leitura vai para a primária.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+	public static final String PRIMARY = "primary";
+	private static final String POSTGRES_LAG_QUERY = "SELECT COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)";
+
+	private final HikariDataSource primary;
+	private final List<Replica> replicas;
+	private final Strategy strategy;
+	private final long maxLagMillis;
+	private final String lagQuery;
+	private final AtomicInteger next = new AtomicInteger();
+	private final Counter primaryCounter;
+	private final Counter fallbackCounter;
+
+	public ReadWriteRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicaPools,
+			RoutingDataSourceProperties properties, MeterRegistry registry) {
+		this.primary = primary;
+		this.replicas = replicaPools.stream().map(pool -> new Replica(pool, registry)).collect(Collectors.toList());
+		this.strategy = properties.getStrategy();
+		this.maxLagMillis = properties.getMaxLagMs();
+		this.lagQuery = properties.getLagQuery();
+		this.primaryCounter = routedCounter(registry, PRIMARY, "write");
+		this.fallbackCounter = routedCounter(registry, PRIMARY, "fallback");
+
+		Map<Object, Object> targets = new HashMap<>();
+		targets.put(PRIMARY, primary);
+		replicas.forEach(replica -> targets.put(replica.name, replica.pool));
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+		afterPropertiesSet();
+		// Verificação já na criação: as leituras da subida não podem ir a uma réplica atrasada.
+		checkReplicas();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		return PRIMARY;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			primaryCounter.increment();
+			return primary.getConnection();
+		}
+		Replica replica = select();
+		while (replica != null) {
+			try {
+				Connection connection = replica.pool.getConnection();
+				replica.routed.increment();
+				return connection;
+			} catch (SQLException e) {
+				LOG.warn("Réplica {} indisponível, retirada da rotação: {}", replica.name, e.getMessage());
+				replica.available = false;
+				replica = select();
+			}
+		}
+		fallbackCounter.increment();
+		return primary.getConnection();
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return getConnection();
+	}
+
+	// Atraso de cada réplica: lag-query configurada, a padrão do PostgreSQL ou só um teste de conexão.
+	public void checkReplicas() {
+		for (Replica replica : replicas) {
+			try (Connection connection = replica.pool.getConnection(); Statement statement = connection.createStatement()) {
+				String query = !lagQuery.isBlank() ? lagQuery
+						: connection.getMetaData().getDatabaseProductName().equals("PostgreSQL") ? POSTGRES_LAG_QUERY : null;
+				long lag = 0;
+				if (query != null) {
+					try (ResultSet rs = statement.executeQuery(query)) {
+						lag = rs.next() ? rs.getLong(1) : 0;
+					}
+				}
+				boolean stale = lag > maxLagMillis;
+				if (stale && !replica.stale) {
+					LOG.warn("Réplica {} com atraso de {} ms, leituras vão para outra réplica ou a primária", replica.name, lag);
+				}
+				replica.lagMillis = lag;
+				replica.stale = stale;
+				replica.available = true;
+			} catch (SQLException e) {
+				if (replica.available) {
+					LOG.warn("Réplica {} indisponível: {}", replica.name, e.getMessage());
+				}
+				replica.available = false;
+			}
+		}
+	}
+
+	public void close() {
+		replicas.forEach(replica -> replica.pool.close());
+		primary.close();
+	}
+
+	private Replica select() {
+		List<Replica> candidates = replicas.stream().filter(Replica::usable).collect(Collectors.toList());
+		if (candidates.isEmpty()) {
+			return null;
+		}
+		if (strategy == Strategy.LEAST_IN_FLIGHT) {
+			Replica best = candidates.get(0);
+			for (Replica candidate : candidates) {
+				if (candidate.inFlight() < best.inFlight()) {
+					best = candidate;
+				}
+			}
+			return best;
+		}
+		return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+	}
+
+	private static Counter routedCounter(MeterRegistry registry, String target, String reason) {
+		return Counter.builder("dscatalog.datasource.routed")
+				.tag("target", target)
+				.tag("reason", reason)
+				.register(registry);
+	}
+
+	private static class Replica {
+
+		private final String name;
+		private final HikariDataSource pool;
+		private final Counter routed;
+		private volatile boolean available = true;
+		private volatile boolean stale;
+		private volatile long lagMillis;
+
+		Replica(HikariDataSource pool, MeterRegistry registry) {
+			this.name = pool.getPoolName();
+			this.pool = pool;
+			this.routed = routedCounter(registry, name, "read");
+			Gauge.builder("dscatalog.datasource.replica.lag", this, replica -> replica.lagMillis)
+					.tag("pool", name).baseUnit("milliseconds").register(registry);
+			Gauge.builder("dscatalog.datasource.replica.usable", this, replica -> replica.usable() ? 1 : 0)
+					.tag("pool", name).register(registry);
+		}
+
+		boolean usable() {
+			return available && !stale;
+		}
+
+		int inFlight() {
+			HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+			return bean == null ? 0 : bean.getActiveConnections();
+		}
+	}
+
+}
@@ -0,0 +1,90 @@
+package com.bootcamp.dscatalog.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Propriedades dscatalog.datasource.routing.* (réplicas de leitura do DataSourceConfig).
+public class RoutingDataSourceProperties {
+
+	public enum Strategy {
+		ROUND_ROBIN, LEAST_IN_FLIGHT
+	}
+
+	private Strategy strategy = Strategy.ROUND_ROBIN;
+	private long maxLagMs = 5000;
+	private String lagQuery = "";
+	private List<Replica> replicas = new ArrayList<>();
+
+	public Strategy getStrategy() {
+		return strategy;
+	}
+
+	public void setStrategy(Strategy strategy) {
+		this.strategy = strategy;
+	}
+
+	public long getMaxLagMs() {
+		return maxLagMs;
+	}
+
+	public void setMaxLagMs(long maxLagMs) {
+		this.maxLagMs = maxLagMs;
+	}
+
+	public String getLagQuery() {
+		return lagQuery;
+	}
+
+	public void setLagQuery(String lagQuery) {
+		this.lagQuery = lagQuery;
+	}
+
+	public List<Replica> getReplicas() {
+		return replicas;
+	}
+
+	public void setReplicas(List<Replica> replicas) {
+		this.replicas = replicas;
+	}
+
+	public static class Replica {
+
+		private String url;
+		private String username;
+		private String password;
+		private int maximumPoolSize = 10;
+
+		public String getUrl() {
+			return url;
+		}
+
+		public void setUrl(String url) {
+			this.url = url;
+		}
+
+		public String getUsername() {
+			return username;
+		}
+
+		public void setUsername(String username) {
+			this.username = username;
+		}
+
+		public String getPassword() {
+			return password;
+		}
+
+		public void setPassword(String password) {
+			this.password = password;
+		}
+
+		public int getMaximumPoolSize() {
+			return maximumPoolSize;
+		}
+
+		public void setMaximumPoolSize(int maximumPoolSize) {
+			this.maximumPoolSize = maximumPoolSize;
+		}
+	}
+
+}
@@ -0,0 +1,44 @@
+package com.bootcamp.dscatalog.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/*
+ * Tempo de cada método público dos @Service (timer "dscatalog.service", tags class/method/exception).
+ * Chamadas com erro ficam com a exceção na tag, então a contagem de erros sai do próprio timer.
+ * Os endpoints já são medidos pelo Spring Boot em "http.server.requests".
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+	public static final String METRIC = "dscatalog.service";
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@Around("@within(org.springframework.stereotype.Service) && execution(public * com.bootcamp.dscatalog.services..*(..))")
+	public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+		Timer.Sample sample = Timer.start(registry);
+		String exception = "none";
+		try {
+			return joinPoint.proceed();
+		} catch (Throwable e) {
+			exception = e.getClass().getSimpleName();
+			throw e;
+		} finally {
+			sample.stop(Timer.builder(METRIC)
+					.tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+					.tag("method", joinPoint.getSignature().getName())
+					.tag("exception", exception)
+					.register(registry));
+		}
+	}
+
+}
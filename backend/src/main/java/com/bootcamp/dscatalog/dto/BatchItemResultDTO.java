@@ -0,0 +1,64 @@
+package com.bootcamp.dscatalog.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.bootcamp.dscatalog.resources.exceptions.FieldMessage;
+
+public class BatchItemResultDTO implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public static final String CREATED = "CREATED";
+	public static final String INVALID = "INVALID";
+	public static final String FAILED = "FAILED";
+	
+	private Integer index;
+	private String status;
+	private Long id;
+	private List<FieldMessage> errors = new ArrayList<>();
+	
+	public BatchItemResultDTO() {
+		
+	}
+
+	public BatchItemResultDTO(Integer index, String status, Long id) {
+		this.index = index;
+		this.status = status;
+		this.id = id;
+	}
+
+	public Integer getIndex() {
+		return index;
+	}
+
+	public void setIndex(Integer index) {
+		this.index = index;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public List<FieldMessage> getErrors() {
+		return errors;
+	}
+	
+	public void addError(String fieldName, String message) {
+		errors.add(new FieldMessage(fieldName, message));
+	}
+
+}
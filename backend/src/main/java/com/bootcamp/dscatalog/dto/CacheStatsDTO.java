@@ -0,0 +1,77 @@
+package com.bootcamp.dscatalog.dto;
+
+import java.io.Serializable;
+
+public class CacheStatsDTO implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private String name;
+	private Long size;
+	private Long hitCount;
+	private Long missCount;
+	private Double hitRate;
+	private Long evictionCount;
+	
+	public CacheStatsDTO() {
+		
+	}
+
+	public CacheStatsDTO(String name, Long size, Long hitCount, Long missCount, Double hitRate, Long evictionCount) {
+		this.name = name;
+		this.size = size;
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.hitRate = hitRate;
+		this.evictionCount = evictionCount;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public Long getSize() {
+		return size;
+	}
+
+	public void setSize(Long size) {
+		this.size = size;
+	}
+
+	public Long getHitCount() {
+		return hitCount;
+	}
+
+	public void setHitCount(Long hitCount) {
+		this.hitCount = hitCount;
+	}
+
+	public Long getMissCount() {
+		return missCount;
+	}
+
+	public void setMissCount(Long missCount) {
+		this.missCount = missCount;
+	}
+
+	public Double getHitRate() {
+		return hitRate;
+	}
+
+	public void setHitRate(Double hitRate) {
+		this.hitRate = hitRate;
+	}
+
+	public Long getEvictionCount() {
+		return evictionCount;
+	}
+
+	public void setEvictionCount(Long evictionCount) {
+		this.evictionCount = evictionCount;
+	}
+
+}
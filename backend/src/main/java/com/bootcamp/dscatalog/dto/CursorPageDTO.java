@@ -0,0 +1,70 @@
+package com.bootcamp.dscatalog.dto;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.bootcamp.dscatalog.services.pagination.Cursor;
+
+public class CursorPageDTO<T> implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private List<T> content;
+	private Integer size;
+	private Boolean hasNext;
+	private String nextCursor;
+
+	public CursorPageDTO() {
+
+	}
+
+	public CursorPageDTO(List<T> content, Integer size, Boolean hasNext, String nextCursor) {
+		this.content = content;
+		this.size = size;
+		this.hasNext = hasNext;
+		this.nextCursor = nextCursor;
+	}
+
+	// Recebe até size + 1 linhas: a linha extra só indica que há próxima página.
+	public static <E, T> CursorPageDTO<T> of(List<E> rows, int size, Function<E, Cursor> cursor, Function<E, T> mapper) {
+		boolean hasNext = rows.size() > size;
+		List<E> page = hasNext ? rows.subList(0, size) : rows;
+		String next = hasNext ? cursor.apply(page.get(page.size() - 1)).encode() : null;
+		return new CursorPageDTO<>(page.stream().map(mapper).collect(Collectors.toList()), size, hasNext, next);
+	}
+
+	public List<T> getContent() {
+		return content;
+	}
+
+	public void setContent(List<T> content) {
+		this.content = content;
+	}
+
+	public Integer getSize() {
+		return size;
+	}
+
+	public void setSize(Integer size) {
+		this.size = size;
+	}
+
+	public Boolean getHasNext() {
+		return hasNext;
+	}
+
+	public void setHasNext(Boolean hasNext) {
+		this.hasNext = hasNext;
+	}
+
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	public void setNextCursor(String nextCursor) {
+		this.nextCursor = nextCursor;
+	}
+
+}
@@ -0,0 +1,47 @@
+package com.bootcamp.dscatalog.dto;
+
+import java.io.Serializable;
+
+public class ImportErrorDTO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private Long line;
+	private String fieldName;
+	private String message;
+
+	public ImportErrorDTO() {
+
+	}
+
+	public ImportErrorDTO(Long line, String fieldName, String message) {
+		this.line = line;
+		this.fieldName = fieldName;
+		this.message = message;
+	}
+
+	public Long getLine() {
+		return line;
+	}
+
+	public void setLine(Long line) {
+		this.line = line;
+	}
+
+	public String getFieldName() {
+		return fieldName;
+	}
+
+	public void setFieldName(String fieldName) {
+		this.fieldName = fieldName;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+
+}
@@ -0,0 +1,138 @@
+package com.bootcamp.dscatalog.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.bootcamp.dscatalog.services.imports.ImportJob;
+
+public class ImportJobDTO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private Long id;
+	private String path;
+	private String format;
+	private String mode;
+	private String status;
+	private String message;
+	private Long read;
+	private Long imported;
+	private Long rejected;
+	private Instant startedAt;
+	private Instant finishedAt;
+	private List<ImportErrorDTO> errors = new ArrayList<>();
+
+	public ImportJobDTO() {
+
+	}
+
+	public ImportJobDTO(ImportJob job) {
+		id = job.getId();
+		path = job.getPath();
+		format = job.getFormat().getExtension();
+		mode = job.getMode();
+		status = job.getStatus();
+		message = job.getMessage();
+		read = job.getRead();
+		imported = job.getImported();
+		rejected = job.getRejected();
+		startedAt = job.getStartedAt();
+		finishedAt = job.getFinishedAt();
+		errors = job.getErrors();
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	public void setPath(String path) {
+		this.path = path;
+	}
+
+	public String getFormat() {
+		return format;
+	}
+
+	public void setFormat(String format) {
+		this.format = format;
+	}
+
+	public String getMode() {
+		return mode;
+	}
+
+	public void setMode(String mode) {
+		this.mode = mode;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+
+	public Long getRead() {
+		return read;
+	}
+
+	public void setRead(Long read) {
+		this.read = read;
+	}
+
+	public Long getImported() {
+		return imported;
+	}
+
+	public void setImported(Long imported) {
+		this.imported = imported;
+	}
+
+	public Long getRejected() {
+		return rejected;
+	}
+
+	public void setRejected(Long rejected) {
+		this.rejected = rejected;
+	}
+
+	public Instant getStartedAt() {
+		return startedAt;
+	}
+
+	public void setStartedAt(Instant startedAt) {
+		this.startedAt = startedAt;
+	}
+
+	public Instant getFinishedAt() {
+		return finishedAt;
+	}
+
+	public void setFinishedAt(Instant finishedAt) {
+		this.finishedAt = finishedAt;
+	}
+
+	public List<ImportErrorDTO> getErrors() {
+		return errors;
+	}
+
+}
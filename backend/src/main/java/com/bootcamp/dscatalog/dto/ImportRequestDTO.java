@@ -0,0 +1,40 @@
+package com.bootcamp.dscatalog.dto;
+
+import java.io.Serializable;
+
+import javax.validation.constraints.NotBlank;
+
+public class ImportRequestDTO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	@NotBlank(message = "Campo obrigatório")
+	private String path;
+	private String format = "csv";
+
+	public ImportRequestDTO() {
+
+	}
+
+	public ImportRequestDTO(String path, String format) {
+		this.path = path;
+		this.format = format;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	public void setPath(String path) {
+		this.path = path;
+	}
+
+	public String getFormat() {
+		return format;
+	}
+
+	public void setFormat(String format) {
+		this.format = format;
+	}
+
+}
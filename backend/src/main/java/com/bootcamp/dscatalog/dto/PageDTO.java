@@ -0,0 +1,98 @@
+package com.bootcamp.dscatalog.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import com.bootcamp.dscatalog.services.pagination.TotalCount;
+
+// Envelope enxuto de página: sem os objetos pageable/sort do PageImpl; total só quando houve contagem,
+// com totalExact false quando ele é uma estimativa do banco.
+public class PageDTO<T> implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private List<T> items;
+	private Integer page;
+	private Integer size;
+	private Boolean hasNext;
+	private Long total;
+	private Boolean totalExact;
+
+	public PageDTO() {
+
+	}
+
+	public PageDTO(List<T> items, Integer page, Integer size, Boolean hasNext, Long total, Boolean totalExact) {
+		this.items = items;
+		this.page = page;
+		this.size = size;
+		this.hasNext = hasNext;
+		this.total = total;
+		this.totalExact = totalExact;
+	}
+
+	public static <T> PageDTO<T> of(Slice<T> slice) {
+		if (slice instanceof Page) {
+			return new PageDTO<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(),
+					((Page<T>) slice).getTotalElements(), true);
+		}
+		return new PageDTO<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(), null, null);
+	}
+
+	public static <T> PageDTO<T> of(Slice<T> slice, TotalCount count) {
+		return new PageDTO<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(),
+				count.getTotal(), count.isExact());
+	}
+
+	public List<T> getItems() {
+		return items;
+	}
+
+	public void setItems(List<T> items) {
+		this.items = items;
+	}
+
+	public Integer getPage() {
+		return page;
+	}
+
+	public void setPage(Integer page) {
+		this.page = page;
+	}
+
+	public Integer getSize() {
+		return size;
+	}
+
+	public void setSize(Integer size) {
+		this.size = size;
+	}
+
+	public Boolean getHasNext() {
+		return hasNext;
+	}
+
+	public void setHasNext(Boolean hasNext) {
+		this.hasNext = hasNext;
+	}
+
+	public Long getTotal() {
+		return total;
+	}
+
+	public void setTotal(Long total) {
+		this.total = total;
+	}
+
+	public Boolean getTotalExact() {
+		return totalExact;
+	}
+
+	public void setTotalExact(Boolean totalExact) {
+		this.totalExact = totalExact;
+	}
+
+}
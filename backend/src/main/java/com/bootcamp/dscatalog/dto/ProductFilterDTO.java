@@ -0,0 +1,100 @@
+package com.bootcamp.dscatalog.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class ProductFilterDTO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private List<Long> categoryId = new ArrayList<>();
+	private String name = "";
+	private Double minPrice;
+	private Double maxPrice;
+	private Instant minDate;
+	private Instant maxDate;
+	
+	// Opção da listagem: false devolve os produtos sem categorias e evita o join com tb_product_category.
+	private Boolean withCategories = true;
+
+	public ProductFilterDTO() {
+
+	}
+
+	public List<Long> getCategoryId() {
+		return categoryId;
+	}
+
+	public void setCategoryId(List<Long> categoryId) {
+		this.categoryId = categoryId;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public Double getMinPrice() {
+		return minPrice;
+	}
+
+	public void setMinPrice(Double minPrice) {
+		this.minPrice = minPrice;
+	}
+
+	public Double getMaxPrice() {
+		return maxPrice;
+	}
+
+	public void setMaxPrice(Double maxPrice) {
+		this.maxPrice = maxPrice;
+	}
+
+	public Instant getMinDate() {
+		return minDate;
+	}
+
+	public void setMinDate(Instant minDate) {
+		this.minDate = minDate;
+	}
+
+	public Instant getMaxDate() {
+		return maxDate;
+	}
+
+	public void setMaxDate(Instant maxDate) {
+		this.maxDate = maxDate;
+	}
+
+	public Boolean getWithCategories() {
+		return withCategories;
+	}
+
+	public void setWithCategories(Boolean withCategories) {
+		this.withCategories = withCategories;
+	}
+
+	// Lista vazia vira null para a query ignorar o filtro de categoria (COALESCE).
+	public List<Long> categoryIdsOrNull() {
+		return categoryId == null || categoryId.isEmpty() ? null : categoryId;
+	}
+
+	public String nameOrEmpty() {
+		return name == null ? "" : name.trim();
+	}
+
+	// Chave do cache de contagem: só os filtros que mudam o total (withCategories não muda).
+	public List<Object> countKey() {
+		Set<Long> categories = categoryId == null ? Set.of() : new TreeSet<>(categoryId);
+		return Arrays.asList(categories, nameOrEmpty().toLowerCase(), minPrice, maxPrice, minDate, maxDate);
+	}
+
+}
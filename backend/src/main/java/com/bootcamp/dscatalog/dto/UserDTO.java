@@ -43,6 +43,14 @@ public class UserDTO implements Serializable {
 		entity.getRoles().forEach(role -> this.roles.add(new RoleDTO(role)));
 		
 	}
+	
+	public UserDTO(User entity, Set<RoleDTO> roles) {
+		this.id = entity.getId();
+		this.firstName = entity.getFirstName();
+		this.lastName = entity.getLastName();
+		this.email = entity.getEmail();
+		this.roles = roles;
+	}
 
 	public Long getId() {
 		return id;
@@ -0,0 +1,94 @@
+package com.bootcamp.dscatalog.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/*
+ * Versão barata de um recurso (ou de uma coleção) para GET condicional:
+ * obtida por projeção, sem carregar a entidade nem montar o DTO completo.
+ * Entidades com @Version usam esse número no ETag; relatedModifiedAt é a última alteração
+ * das entidades associadas que aparecem na representação (ex.: nomes das categorias do produto).
+ */
+public class VersionDTO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private Long key;
+	private Long version;
+	private Instant createdAt;
+	private Instant updatedAt;
+	private Instant relatedModifiedAt;
+
+	public VersionDTO() {
+
+	}
+
+	public VersionDTO(Long key, Instant createdAt, Instant updatedAt) {
+		this.key = key;
+		this.createdAt = createdAt;
+		this.updatedAt = updatedAt;
+	}
+
+	public VersionDTO(Long key, Long version, Instant createdAt, Instant updatedAt) {
+		this(key, createdAt, updatedAt);
+		this.version = version;
+	}
+
+	public VersionDTO(Long key, Long version, Instant createdAt, Instant updatedAt, Instant relatedModifiedAt) {
+		this(key, version, createdAt, updatedAt);
+		this.relatedModifiedAt = relatedModifiedAt;
+	}
+
+	public Long getKey() {
+		return key;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public Instant getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public Instant getRelatedModifiedAt() {
+		return relatedModifiedAt;
+	}
+
+	public Instant getLastModified() {
+		return latest(latest(createdAt, updatedAt), relatedModifiedAt);
+	}
+
+	public long lastModifiedMillis() {
+		Instant lastModified = getLastModified();
+		return lastModified == null ? -1 : lastModified.toEpochMilli();
+	}
+
+	public String eTag() {
+		return eTag("");
+	}
+
+	// O escopo diferencia, por exemplo, páginas distintas de uma mesma coleção.
+	public String eTag(String scope) {
+		String tag;
+		if (version == null) {
+			Instant lastModified = getLastModified();
+			tag = key + "-" + (lastModified == null ? 0 : lastModified.toEpochMilli());
+		} else {
+			tag = key + "-v" + version + (relatedModifiedAt == null ? "" : "-" + relatedModifiedAt.toEpochMilli());
+		}
+		return "\"" + (scope.isEmpty() ? tag : tag + "-" + Integer.toHexString(scope.hashCode())) + "\"";
+	}
+
+	private static Instant latest(Instant a, Instant b) {
+		if (a == null) {
+			return b;
+		}
+		return b == null || a.isAfter(b) ? a : b;
+	}
+
+}
@@ -11,19 +11,30 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
-@Table(name = "tb_product")
+@Table(name = "tb_product", indexes = @Index(name = "idx_product_updated_at", columnList = "updatedAt"))
 public class Product implements Serializable {
 	
 	private static final long serialVersionUID = 1L;
 	
+	// Sequence com alocação em bloco (pooled-lo) permite ao Hibernate agrupar os inserts em batch JDBC.
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+	@SequenceGenerator(name = "product_seq", sequenceName = "tb_product_seq", allocationSize = 50)
 	private Long id;
 	private String name;
 	
@@ -34,8 +45,22 @@ public class Product implements Serializable {
 	
 	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
 	private Instant date;
+
+	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+	private Instant createdAt;
+	
+	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+	private Instant updatedAt;
+	
+	// Incrementada pelo Hibernate a cada alteração, inclusive quando só os categorias mudam; base do ETag.
+	// O default cobre as linhas gravadas por SQL (import.sql e inserts JDBC).
+	@Version
+	@ColumnDefault("0")
+	@Column(nullable = false)
+	private Long version;
 	
 	@ManyToMany
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product-categories")
 	@JoinTable(
 			name = "tb_product_category",
 			joinColumns = @JoinColumn(name = "product_id"),
@@ -104,6 +129,28 @@ public class Product implements Serializable {
 		this.date = date;
 	}
 
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public Instant getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+	
+	@PrePersist
+	public void prePersist() {
+		createdAt = Instant.now();
+	}
+	
+	@PreUpdate
+	public void preUpdate() {
+		updatedAt = Instant.now();
+	}
+
 	public Set<Category> getCategories() {
 		return categories;
 	}
@@ -1,6 +1,7 @@
 package com.bootcamp.dscatalog.entities;
 
 import java.io.Serializable;
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
@@ -11,19 +12,33 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
+
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 @Entity
-@Table(name = "tb_user")
+@Table(name = "tb_user", indexes = @Index(name = "idx_user_updated_at", columnList = "updatedAt"))
 public class User implements Serializable {
 	
 	private static final long serialVersionUID = 1L;
 	
+	// Sequence em blocos (pooled-lo), como em Product, para permitir inserts em batch JDBC.
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+	@SequenceGenerator(name = "user_seq", sequenceName = "tb_user_seq", allocationSize = 50)
 	private Long id;
 	private String firstName;
 	private String lastName;
@@ -31,8 +46,26 @@ public class User implements Serializable {
 	@Column(unique = true)
 	private String email;
 	private String password;
+
+	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+	private Instant createdAt;
+	
+	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+	private Instant updatedAt;
+	
+	// Incrementada pelo Hibernate a cada alteração, inclusive quando só os roles mudam; base do ETag.
+	// O default cobre as linhas gravadas por SQL (import.sql e inserts JDBC).
+	@Version
+	@ColumnDefault("0")
+	@Column(nullable = false)
+	private Long version;
 	
+	// Select separado em vez de join: os ids dos roles e os próprios roles vêm do cache de segundo nível.
+	// Com o cache frio, os roles de até 50 usuários saem numa única consulta (IN) em vez de uma por usuário.
 	@ManyToMany(fetch = FetchType.EAGER) // Sempre que buscar um usuário no banco, ele carrega os roles.
+	@Fetch(FetchMode.SELECT)
+	@BatchSize(size = 50)
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-roles")
 	@JoinTable(
 			name = "tb_user_role",
 			joinColumns = @JoinColumn(name = "user_id"),
@@ -93,6 +126,28 @@ public class User implements Serializable {
 		this.password = password;
 	}
 
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public Instant getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+	
+	@PrePersist
+	public void prePersist() {
+		createdAt = Instant.now();
+	}
+	
+	@PreUpdate
+	public void preUpdate() {
+		updatedAt = Instant.now();
+	}
+
 	public Set<Role> getRoles() {
 		return roles;
 	}
@@ -1,11 +1,54 @@
 package com.bootcamp.dscatalog.repositories;
 
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.bootcamp.dscatalog.dto.VersionDTO;
 import com.bootcamp.dscatalog.entities.Category;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
+	// Listagem paginada (e sua contagem) no cache de consultas do Hibernate.
+	@Override
+	@QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
+	Page<Category> findAll(Pageable pageable);
+
+	// Página sem COUNT (size + 1 linhas), também no cache de consultas.
+	@QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
+	Slice<Category> findSliceBy(Pageable pageable);
+
+	Optional<Category> findFirstByName(String name);
+
+	List<Category> findAllByOrderByIdAsc(Pageable pageable);
+
+	List<Category> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+	// Nome nulo entra na ordenação e no cursor como '' (o Cursor grava a chave nula assim), então
+	// primeira página e continuação precisam usar a mesma expressão para não pular essas linhas.
+	@Query("SELECT obj FROM Category obj ORDER BY COALESCE(obj.name, ''), obj.id")
+	List<Category> findAllByOrderByNameAscIdAsc(Pageable pageable);
+
+	@Query("SELECT obj FROM Category obj WHERE COALESCE(obj.name, '') > :name "
+			+ "OR (COALESCE(obj.name, '') = :name AND obj.id > :id) ORDER BY COALESCE(obj.name, ''), obj.id")
+	List<Category> findNextByName(@Param("name") String name, @Param("id") Long id, Pageable pageable);
+
+	@Query("SELECT new com.bootcamp.dscatalog.dto.VersionDTO(obj.id, obj.createdAt, obj.updatedAt) FROM Category obj WHERE obj.id = :id")
+	Optional<VersionDTO> findVersionById(@Param("id") Long id);
+
+	// Versão da coleção: a contagem detecta remoções, os máximos detectam inclusões e alterações.
+	@Query("SELECT new com.bootcamp.dscatalog.dto.VersionDTO(COUNT(obj), MAX(obj.createdAt), MAX(obj.updatedAt)) FROM Category obj")
+	VersionDTO findCollectionVersion();
+
 }
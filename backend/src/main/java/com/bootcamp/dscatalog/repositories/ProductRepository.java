@@ -1,10 +1,100 @@
 package com.bootcamp.dscatalog.repositories;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import com.bootcamp.dscatalog.dto.ProductCardDTO;
+import com.bootcamp.dscatalog.dto.VersionDTO;
 import com.bootcamp.dscatalog.entities.Product;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
+	String SEARCH_FILTER = "WHERE (COALESCE(:categoryIds) IS NULL OR obj.id IN "
+			+ "(SELECT p.id FROM Product p INNER JOIN p.categories cat WHERE cat.id IN :categoryIds)) "
+			+ "AND LOWER(obj.name) LIKE LOWER(CONCAT('%', :name, '%')) "
+			+ "AND (:minPrice IS NULL OR obj.price >= :minPrice) "
+			+ "AND (:maxPrice IS NULL OR obj.price <= :maxPrice) "
+			+ "AND (:minDate IS NULL OR obj.date >= :minDate) "
+			+ "AND (:maxDate IS NULL OR obj.date <= :maxDate)";
+
+	// Primeira fase: apenas os ids da página, sem join com categorias (evita paginação em memória).
+	@Query(value = "SELECT obj.id FROM Product obj " + SEARCH_FILTER,
+			countQuery = "SELECT COUNT(obj) FROM Product obj " + SEARCH_FILTER)
+	Page<Long> searchIds(@Param("categoryIds") List<Long> categoryIds, @Param("name") String name,
+			@Param("minPrice") Double minPrice, @Param("maxPrice") Double maxPrice,
+			@Param("minDate") Instant minDate, @Param("maxDate") Instant maxDate, Pageable pageable);
+
+	// Mesma primeira fase sem COUNT: busca size + 1 ids e a linha extra só indica se há próxima página.
+	@Query("SELECT obj.id FROM Product obj " + SEARCH_FILTER)
+	Slice<Long> searchIdsSlice(@Param("categoryIds") List<Long> categoryIds, @Param("name") String name,
+			@Param("minPrice") Double minPrice, @Param("maxPrice") Double maxPrice,
+			@Param("minDate") Instant minDate, @Param("maxDate") Instant maxDate, Pageable pageable);
+
+	// Contagem exata do filtro, para o ProductCountService.
+	@Query("SELECT COUNT(obj) FROM Product obj " + SEARCH_FILTER)
+	long countSearch(@Param("categoryIds") List<Long> categoryIds, @Param("name") String name,
+			@Param("minPrice") Double minPrice, @Param("maxPrice") Double maxPrice,
+			@Param("minDate") Instant minDate, @Param("maxDate") Instant maxDate);
+
+	// Segunda fase: carrega os produtos da página com as categorias em um único join fetch.
+	@Query("SELECT DISTINCT obj FROM Product obj LEFT JOIN FETCH obj.categories WHERE obj.id IN :ids")
+	List<Product> findWithCategories(@Param("ids") List<Long> ids);
+
+	// Produto a alterar já com as categorias: o update compara o conjunto sem um select a mais.
+	@Query("SELECT obj FROM Product obj LEFT JOIN FETCH obj.categories WHERE obj.id = :id")
+	Optional<Product> findWithCategoriesById(@Param("id") Long id);
+
+	// Projeção de card: só as colunas exibidas na grade, a descrição (TEXT) não sai do banco.
+	@Query(value = "SELECT new com.bootcamp.dscatalog.dto.ProductCardDTO(obj.id, obj.name, obj.price, obj.imgUrl) "
+			+ "FROM Product obj " + SEARCH_FILTER,
+			countQuery = "SELECT COUNT(obj) FROM Product obj " + SEARCH_FILTER)
+	Page<ProductCardDTO> searchCards(@Param("categoryIds") List<Long> categoryIds, @Param("name") String name,
+			@Param("minPrice") Double minPrice, @Param("maxPrice") Double maxPrice,
+			@Param("minDate") Instant minDate, @Param("maxDate") Instant maxDate, Pageable pageable);
+
+	List<Product> findAllByOrderByIdAsc(Pageable pageable);
+
+	List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+	// Nome nulo entra na ordenação e no cursor como '' (o Cursor grava a chave nula assim), então
+	// primeira página e continuação precisam usar a mesma expressão para não pular essas linhas.
+	@Query("SELECT obj FROM Product obj ORDER BY COALESCE(obj.name, ''), obj.id")
+	List<Product> findAllByOrderByNameAscIdAsc(Pageable pageable);
+
+	@Query("SELECT obj FROM Product obj WHERE COALESCE(obj.name, '') > :name "
+			+ "OR (COALESCE(obj.name, '') = :name AND obj.id > :id) ORDER BY COALESCE(obj.name, ''), obj.id")
+	List<Product> findNextByName(@Param("name") String name, @Param("id") Long id, Pageable pageable);
+
+	// Linhas escalares (produto x categoria) ordenadas por id, lidas com cursor forward-only:
+	// nada entra no contexto de persistência e as categorias vêm no mesmo select.
+	@QueryHints({
+		@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"),
+		@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true") })
+	@Query("SELECT obj.id, obj.name, obj.description, obj.price, obj.imgUrl, obj.date, cat.id "
+			+ "FROM Product obj LEFT JOIN obj.categories cat ORDER BY obj.id")
+	Stream<Object[]> streamForExport();
+
+	// A representação inclui os nomes das categorias: renomear uma delas também muda a versão do produto.
+	@Query("SELECT new com.bootcamp.dscatalog.dto.VersionDTO(obj.id, obj.version, obj.createdAt, obj.updatedAt, "
+			+ "MAX(COALESCE(cat.updatedAt, cat.createdAt))) FROM Product obj LEFT JOIN obj.categories cat WHERE obj.id = :id "
+			+ "GROUP BY obj.id, obj.version, obj.createdAt, obj.updatedAt")
+	Optional<VersionDTO> findVersionById(@Param("id") Long id);
+
+	// A soma das versões muda a cada alteração, inclusive quando só a coleção associada muda.
+	@Query("SELECT new com.bootcamp.dscatalog.dto.VersionDTO(COUNT(obj), SUM(obj.version), MAX(obj.createdAt), MAX(obj.updatedAt)) FROM Product obj")
+	VersionDTO findCollectionVersion();
+
 }
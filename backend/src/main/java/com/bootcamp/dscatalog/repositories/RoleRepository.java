@@ -1,6 +1,11 @@
 package com.bootcamp.dscatalog.repositories;
 
+import java.util.List;
+
+import javax.persistence.QueryHint;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.bootcamp.dscatalog.entities.Role;
@@ -8,4 +13,8 @@ import com.bootcamp.dscatalog.entities.Role;
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
 
+	@Override
+	@QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
+	List<Role> findAll();
+
 }
@@ -1,7 +1,20 @@
 package com.bootcamp.dscatalog.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import com.bootcamp.dscatalog.dto.VersionDTO;
 import com.bootcamp.dscatalog.entities.User;
 
 @Repository
@@ -9,4 +22,37 @@ public interface UserRepository extends JpaRepository<User, Long> {
 	
 	User findByEmail(String email);
 
+	// Verificações de unicidade: só o índice de email, sem carregar o usuário e seus roles.
+	boolean existsByEmail(String email);
+
+	@Query("SELECT obj.id FROM User obj WHERE obj.email = :email")
+	Optional<Long> findIdByEmail(@Param("email") String email);
+
+	@Query("SELECT obj.email FROM User obj WHERE obj.email IN :emails")
+	List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+	@QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+	@Query("SELECT obj.email FROM User obj")
+	Stream<String> streamEmails();
+
+	// Página sem COUNT: busca size + 1 usuários.
+	Slice<User> findSliceBy(Pageable pageable);
+
+	List<User> findAllByOrderByIdAsc(Pageable pageable);
+
+	List<User> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+	List<User> findAllByOrderByEmailAscIdAsc(Pageable pageable);
+
+	@Query("SELECT obj FROM User obj WHERE obj.email > :email OR (obj.email = :email AND obj.id > :id) "
+			+ "ORDER BY obj.email, obj.id")
+	List<User> findNextByEmail(@Param("email") String email, @Param("id") Long id, Pageable pageable);
+
+	@Query("SELECT new com.bootcamp.dscatalog.dto.VersionDTO(obj.id, obj.version, obj.createdAt, obj.updatedAt) FROM User obj WHERE obj.id = :id")
+	Optional<VersionDTO> findVersionById(@Param("id") Long id);
+
+	// A soma das versões muda a cada alteração, inclusive quando só a coleção associada muda.
+	@Query("SELECT new com.bootcamp.dscatalog.dto.VersionDTO(COUNT(obj), SUM(obj.version), MAX(obj.createdAt), MAX(obj.updatedAt)) FROM User obj")
+	VersionDTO findCollectionVersion();
+
 }
@@ -0,0 +1,27 @@
+package com.bootcamp.dscatalog.resources;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bootcamp.dscatalog.dto.CacheStatsDTO;
+import com.bootcamp.dscatalog.services.CacheStatsService;
+
+@RestController
+@RequestMapping(value = "/caches")
+public class CacheResource {
+	
+	@Autowired
+	private CacheStatsService service;
+	
+	@GetMapping
+	public ResponseEntity<List<CacheStatsDTO>> findAll() {
+		List<CacheStatsDTO> list = service.findAll();
+		return ResponseEntity.ok(list);
+	}
+
+}
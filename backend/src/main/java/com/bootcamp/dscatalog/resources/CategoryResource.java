@@ -5,6 +5,8 @@ import java.net.URI;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,10 +15,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.bootcamp.dscatalog.dto.CursorPageDTO;
 import com.bootcamp.dscatalog.dto.CategoryDTO;
+import com.bootcamp.dscatalog.dto.PageDTO;
+import com.bootcamp.dscatalog.dto.VersionDTO;
 import com.bootcamp.dscatalog.services.CategoryService;
 
 @RestController
@@ -27,16 +34,45 @@ public class CategoryResource {
 	private CategoryService service;
 	
 	@GetMapping
-	public ResponseEntity<Page<CategoryDTO>> findAll(Pageable pageable) {
+	public ResponseEntity<Page<CategoryDTO>> findAll(Pageable pageable, WebRequest request) {
+		VersionDTO version = service.findCollectionVersion();
+		if (request.checkNotModified(version.eTag(pageable.toString()), version.lastModifiedMillis())) {
+			return null;
+		}
 		Page<CategoryDTO> list = service.findAllPaged(pageable);
 		
-		return ResponseEntity.ok(list);
+		return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(list);
+	}
+	
+	@GetMapping(params = "count")
+	public ResponseEntity<PageDTO<CategoryDTO>> findAll(Pageable pageable, @RequestParam("count") boolean count,
+			WebRequest request) {
+		VersionDTO version = service.findCollectionVersion();
+		if (request.checkNotModified(version.eTag(pageable + ";count=" + count), version.lastModifiedMillis())) {
+			return null;
+		}
+		Slice<CategoryDTO> list = service.findAllPaged(pageable, count);
+		
+		return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(PageDTO.of(list));
+	}
+	
+	@GetMapping(value = "/cursor")
+	public ResponseEntity<CursorPageDTO<CategoryDTO>> findAllByCursor(
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", defaultValue = "12") Integer size,
+			@RequestParam(value = "sort", defaultValue = "id") String sort) {
+		CursorPageDTO<CategoryDTO> page = service.findAllByCursor(cursor, size, sort);
+		return ResponseEntity.ok(page);
 	}
 	
 	@GetMapping(value = "/{id}")
-	public ResponseEntity<CategoryDTO> findById(@PathVariable Long id) {
+	public ResponseEntity<CategoryDTO> findById(@PathVariable Long id, WebRequest request) {
+		VersionDTO version = service.findVersion(id);
+		if (request.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+			return null;
+		}
 		CategoryDTO dto = service.findById(id);
-		return ResponseEntity.ok(dto);
+		return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(dto);
 	}
 	
 	@PostMapping
@@ -0,0 +1,42 @@
+package com.bootcamp.dscatalog.resources;
+
+import java.net.URI;
+
+import javax.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.bootcamp.dscatalog.dto.ImportJobDTO;
+import com.bootcamp.dscatalog.dto.ImportRequestDTO;
+import com.bootcamp.dscatalog.services.imports.ProductImportService;
+
+@RestController
+@RequestMapping(value = "/products/imports")
+public class ProductImportResource {
+
+	@Autowired
+	private ProductImportService service;
+
+	@PostMapping
+	public ResponseEntity<ImportJobDTO> start(@Valid @RequestBody ImportRequestDTO request) {
+		ImportJobDTO job = service.start(request);
+		URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
+				.buildAndExpand(job.getId()).toUri();
+		return ResponseEntity.accepted().location(uri).body(job);
+	}
+
+	@GetMapping(value = "/{id}")
+	public ResponseEntity<ImportJobDTO> findById(@PathVariable Long id) {
+		ImportJobDTO job = service.findById(id);
+		return ResponseEntity.ok(job);
+	}
+
+}
@@ -1,12 +1,17 @@
 package com.bootcamp.dscatalog.resources;
 
+import java.io.IOException;
 import java.net.URI;
+import java.util.List;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,11 +20,20 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.bootcamp.dscatalog.dto.BatchItemResultDTO;
+import com.bootcamp.dscatalog.dto.CursorPageDTO;
+import com.bootcamp.dscatalog.dto.ProductCardDTO;
+import com.bootcamp.dscatalog.dto.PageDTO;
 import com.bootcamp.dscatalog.dto.ProductDTO;
+import com.bootcamp.dscatalog.dto.VersionDTO;
+import com.bootcamp.dscatalog.dto.ProductFilterDTO;
 import com.bootcamp.dscatalog.services.ProductService;
+import com.bootcamp.dscatalog.services.export.ExportFormat;
 
 @RestController
 @RequestMapping(value = "/products")
@@ -29,15 +43,65 @@ public class ProductResource {
 	private ProductService service;
 	
 	@GetMapping
-	public ResponseEntity<Page<ProductDTO>> findAll(Pageable pageable) {
-		Page<ProductDTO> list = service.findAllPaged(pageable);
+	public ResponseEntity<Page<ProductDTO>> findAll(ProductFilterDTO filter, Pageable pageable) {
+		Page<ProductDTO> list = service.findAllPaged(filter, pageable);
 		return ResponseEntity.ok(list);
 	}
 	
+	// Envelope enxuto (PageDTO); com count=false a listagem não executa COUNT e não informa o total,
+	// com count=true o total pode ser estimado (totalExact false) em tabelas grandes.
+	@GetMapping(params = { "count", "!projection" })
+	public ResponseEntity<PageDTO<ProductDTO>> findAll(ProductFilterDTO filter, Pageable pageable,
+			@RequestParam("count") boolean count) {
+		PageDTO<ProductDTO> page = service.findAllPaged(filter, pageable, count);
+		return ResponseEntity.ok(page);
+	}
+	
+	@GetMapping(params = "projection=card")
+	public ResponseEntity<Page<ProductCardDTO>> findAllCards(ProductFilterDTO filter, Pageable pageable) {
+		Page<ProductCardDTO> list = service.findAllCards(filter, pageable);
+		return ResponseEntity.ok(list);
+	}
+	
+	@GetMapping(value = "/search")
+	public ResponseEntity<Page<ProductDTO>> search(@RequestParam(value = "q", defaultValue = "") String q,
+			Pageable pageable) {
+		Page<ProductDTO> list = service.search(q, pageable);
+		return ResponseEntity.ok(list);
+	}
+	
+	@PostMapping(value = "/search/rebuild")
+	public ResponseEntity<Long> rebuildSearchIndex() {
+		return ResponseEntity.ok(service.rebuildSearchIndex());
+	}
+	
+	@GetMapping(value = "/export")
+	public void export(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+			HttpServletResponse response) throws IOException {
+		ExportFormat exportFormat = ExportFormat.of(format);
+		response.setContentType(exportFormat.getContentType());
+		response.setCharacterEncoding("UTF-8");
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=products." + exportFormat.getExtension());
+		service.export(exportFormat, response.getOutputStream());
+	}
+	
+	@GetMapping(value = "/cursor")
+	public ResponseEntity<CursorPageDTO<ProductDTO>> findAllByCursor(
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", defaultValue = "12") Integer size,
+			@RequestParam(value = "sort", defaultValue = "id") String sort) {
+		CursorPageDTO<ProductDTO> page = service.findAllByCursor(cursor, size, sort);
+		return ResponseEntity.ok(page);
+	}
+	
 	@GetMapping(value = "/{id}")
-	public ResponseEntity<ProductDTO> findById(@PathVariable Long id) {
+	public ResponseEntity<ProductDTO> findById(@PathVariable Long id, WebRequest request) {
+		VersionDTO version = service.findVersion(id);
+		if (request.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+			return null;
+		}
 		ProductDTO dto = service.findById(id);
-		return ResponseEntity.ok(dto);
+		return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(dto);
 	}
 	
 	@PostMapping
@@ -47,6 +111,12 @@ public class ProductResource {
 		return ResponseEntity.created(uri).body(req);
 	}
 	
+	@PostMapping(value = "/batch")
+	public ResponseEntity<List<BatchItemResultDTO>> insertBatch(@RequestBody List<ProductDTO> req) {
+		List<BatchItemResultDTO> results = service.insertBatch(req);
+		return ResponseEntity.ok(results);
+	}
+	
 	@PutMapping(value = "/{id}")
 	public ResponseEntity<ProductDTO> update(@PathVariable Long id, @Valid @RequestBody ProductDTO req) {
 		req = service.update(id, req);
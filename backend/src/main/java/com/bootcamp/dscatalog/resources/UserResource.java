@@ -1,12 +1,15 @@
 package com.bootcamp.dscatalog.resources;
 
 import java.net.URI;
+import java.util.List;
 
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,12 +18,18 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.bootcamp.dscatalog.dto.BatchItemResultDTO;
+import com.bootcamp.dscatalog.dto.CursorPageDTO;
+import com.bootcamp.dscatalog.dto.PageDTO;
 import com.bootcamp.dscatalog.dto.UserDTO;
 import com.bootcamp.dscatalog.dto.UserInsertDTO;
 import com.bootcamp.dscatalog.dto.UserUpdateDTO;
+import com.bootcamp.dscatalog.dto.VersionDTO;
 import com.bootcamp.dscatalog.services.UserService;
 
 @RestController
@@ -36,10 +45,29 @@ public class UserResource {
 		return ResponseEntity.ok(list);
 	}
 	
+	@GetMapping(params = "count")
+	public ResponseEntity<PageDTO<UserDTO>> findAll(Pageable pageable, @RequestParam("count") boolean count) {
+		Slice<UserDTO> list = service.findAllPaged(pageable, count);
+		return ResponseEntity.ok(PageDTO.of(list));
+	}
+	
+	@GetMapping(value = "/cursor")
+	public ResponseEntity<CursorPageDTO<UserDTO>> findAllByCursor(
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", defaultValue = "12") Integer size,
+			@RequestParam(value = "sort", defaultValue = "id") String sort) {
+		CursorPageDTO<UserDTO> page = service.findAllByCursor(cursor, size, sort);
+		return ResponseEntity.ok(page);
+	}
+	
 	@GetMapping(value = "/{id}")
-	public ResponseEntity<UserDTO> findById(@PathVariable Long id) {
+	public ResponseEntity<UserDTO> findById(@PathVariable Long id, WebRequest request) {
+		VersionDTO version = service.findVersion(id);
+		if (request.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+			return null;
+		}
 		UserDTO dto = service.findById(id);
-		return ResponseEntity.ok(dto);
+		return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(dto);
 	}
 	
 	@PostMapping
@@ -49,6 +77,12 @@ public class UserResource {
 		return ResponseEntity.created(uri).body(newDto);
 	}
 	
+	@PostMapping(value = "/batch")
+	public ResponseEntity<List<BatchItemResultDTO>> insertBatch(@RequestBody List<UserInsertDTO> req) {
+		List<BatchItemResultDTO> results = service.insertBatch(req);
+		return ResponseEntity.ok(results);
+	}
+	
 	@PutMapping(value = "/{id}")
 	public ResponseEntity<UserDTO> update(@PathVariable Long id, @Valid @RequestBody UserUpdateDTO req) {
 		UserDTO newDto = service.update(id, req);
@@ -0,0 +1,96 @@
+package com.bootcamp.dscatalog.services;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bootcamp.dscatalog.config.CacheConfig;
+import com.bootcamp.dscatalog.dto.VersionDTO;
+import com.bootcamp.dscatalog.entities.Category;
+import com.bootcamp.dscatalog.repositories.CategoryRepository;
+import com.bootcamp.dscatalog.repositories.ProductRepository;
+import com.bootcamp.dscatalog.repositories.UserRepository;
+
+/*
+ * Os caches (segundo nível do Hibernate e os caches Spring de categorias) são locais a cada nó.
+ * Escritas feitas por outro nó no mesmo banco são detectadas comparando periodicamente a versão
+ * das tabelas (contagem, máximos de created_at/updated_at e, em produtos e usuários, a soma das
+ * colunas @Version, que também mudam quando só as categorias ou os roles mudam) e as regiões
+ * afetadas são descartadas.
+ * O TTL das regiões (application.conf) limita a defasagem caso alguma alteração escape da versão.
+ */
+@Service
+public class CacheInvalidationService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(CacheInvalidationService.class);
+
+	private static final String PRODUCT_CATEGORIES = "com.bootcamp.dscatalog.entities.Product.categories";
+	private static final String USER_ROLES = "com.bootcamp.dscatalog.entities.User.roles";
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	private VersionDTO categoryVersion;
+	private VersionDTO productVersion;
+	private VersionDTO userVersion;
+	private boolean initialized;
+
+	@Scheduled(fixedDelayString = "${dscatalog.cache.invalidation-interval-ms}")
+	@Transactional(readOnly = true)
+	public synchronized void poll() {
+		VersionDTO categories = categoryRepository.findCollectionVersion();
+		VersionDTO products = productRepository.findCollectionVersion();
+		VersionDTO users = userRepository.findCollectionVersion();
+
+		if (initialized) {
+			Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+			if (changed(categoryVersion, categories)) {
+				LOG.debug("Categorias alteradas, descartando caches de categoria");
+				cache.evictEntityData(Category.class);
+				cache.evictCollectionData(PRODUCT_CATEGORIES);
+				cache.evictQueryRegions();
+				cacheManager.getCache(CacheConfig.CATEGORIES).clear();
+				cacheManager.getCache(CacheConfig.CATEGORY_PAGES).clear();
+			}
+			if (changed(productVersion, products)) {
+				LOG.debug("Produtos alterados, descartando categorias dos produtos e totais");
+				cache.evictCollectionData(PRODUCT_CATEGORIES);
+				cacheManager.getCache(CacheConfig.PRODUCT_COUNTS).clear();
+			}
+			if (changed(userVersion, users)) {
+				LOG.debug("Usuários alterados, descartando roles dos usuários");
+				cache.evictCollectionData(USER_ROLES);
+			}
+		}
+
+		categoryVersion = categories;
+		productVersion = products;
+		userVersion = users;
+		initialized = true;
+	}
+
+	private static boolean changed(VersionDTO previous, VersionDTO current) {
+		return !previous.eTag().equals(current.eTag()) || previous.lastModifiedMillis() != current.lastModifiedMillis();
+	}
+
+}
@@ -0,0 +1,54 @@
+package com.bootcamp.dscatalog.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import com.bootcamp.dscatalog.dto.CacheStatsDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+@Service
+public class CacheStatsService {
+	
+	public static final String HIBERNATE_PREFIX = "hibernate:";
+	
+	@Autowired
+	private CacheManager cacheManager;
+	
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	
+	public List<CacheStatsDTO> findAll() {
+		List<CacheStatsDTO> list = new ArrayList<>();
+		for (String name : cacheManager.getCacheNames()) {
+			// O cache vem decorado pelo TransactionAwareCacheManagerProxy; o nativo é o do Caffeine.
+			Cache<?, ?> cache = (Cache<?, ?>) cacheManager.getCache(name).getNativeCache();
+			CacheStats stats = cache.stats();
+			list.add(new CacheStatsDTO(name, cache.estimatedSize(), stats.hitCount(),
+					stats.missCount(), stats.hitRate(), stats.evictionCount()));
+		}
+		
+		// Regiões do cache de segundo nível do Hibernate (entidades, coleções e consultas).
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		for (String region : statistics.getSecondLevelCacheRegionNames()) {
+			CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+			if (stats != null) {
+				long requests = stats.getHitCount() + stats.getMissCount();
+				long size = stats.getElementCountInMemory();
+				list.add(new CacheStatsDTO(HIBERNATE_PREFIX + region, size < 0 ? null : size, stats.getHitCount(),
+						stats.getMissCount(), requests == 0 ? 0.0 : (double) stats.getHitCount() / requests, null));
+			}
+		}
+		return list;
+	}
+
+}
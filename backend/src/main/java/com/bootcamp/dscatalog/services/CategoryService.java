@@ -1,20 +1,29 @@
 package com.bootcamp.dscatalog.services;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.bootcamp.dscatalog.config.CacheConfig;
 import com.bootcamp.dscatalog.dto.CategoryDTO;
+import com.bootcamp.dscatalog.dto.CursorPageDTO;
+import com.bootcamp.dscatalog.dto.VersionDTO;
 import com.bootcamp.dscatalog.entities.Category;
 import com.bootcamp.dscatalog.repositories.CategoryRepository;
 import com.bootcamp.dscatalog.services.exceptions.DataBaseException;
 import com.bootcamp.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.bootcamp.dscatalog.services.pagination.Cursor;
 
 @Service
 public class CategoryService {
@@ -22,6 +31,7 @@ public class CategoryService {
 	@Autowired
 	private CategoryRepository repository;
 	
+	@Cacheable(value = CacheConfig.CATEGORY_PAGES, key = "#pageable")
 	@Transactional(readOnly = true)
 	public Page<CategoryDTO> findAllPaged(Pageable pageable) {
 		Page<Category> list = repository.findAll(pageable);
@@ -29,6 +39,42 @@ public class CategoryService {
 		return list.map(item -> new CategoryDTO(item));
 	}
 
+	@Cacheable(value = CacheConfig.CATEGORY_PAGES, key = "{#pageable, #count}")
+	@Transactional(readOnly = true)
+	public Slice<CategoryDTO> findAllPaged(Pageable pageable, boolean count) {
+		Slice<Category> list = count ? repository.findAll(pageable) : repository.findSliceBy(pageable);
+		
+		return list.map(item -> new CategoryDTO(item));
+	}
+
+	@Transactional(readOnly = true)
+	public CursorPageDTO<CategoryDTO> findAllByCursor(String token, int size, String sort) {
+		Cursor.requireSort(sort, "id", "name");
+		Cursor cursor = Cursor.decode(token, sort);
+		Pageable limit = Cursor.limit(size);
+		
+		List<Category> list;
+		if (sort.equals("name")) {
+			list = cursor == null ? repository.findAllByOrderByNameAscIdAsc(limit)
+					: repository.findNextByName(cursor.getKey(), cursor.getId(), limit);
+		} else {
+			list = cursor == null ? repository.findAllByOrderByIdAsc(limit)
+					: repository.findByIdGreaterThanOrderByIdAsc(cursor.getId(), limit);
+		}
+		return CursorPageDTO.of(list, size, item -> new Cursor(sort, item.getName(), item.getId()), CategoryDTO::new);
+	}
+
+	@Transactional(readOnly = true)
+	public VersionDTO findVersion(Long id) {
+		return repository.findVersionById(id).orElseThrow(() -> new ResourceNotFoundException("Entity not found"));
+	}
+
+	@Transactional(readOnly = true)
+	public VersionDTO findCollectionVersion() {
+		return repository.findCollectionVersion();
+	}
+
+	@Cacheable(value = CacheConfig.CATEGORIES, key = "#id")
 	@Transactional(readOnly = true)
 	public CategoryDTO findById(Long id) {
 		Optional<Category> obj = repository.findById(id);
@@ -36,6 +82,7 @@ public class CategoryService {
 		return new CategoryDTO(entity);
 	}
 
+	@CacheEvict(value = CacheConfig.CATEGORY_PAGES, allEntries = true)
 	@Transactional
 	public CategoryDTO insert(CategoryDTO req) {
 		Category entity = new Category();
@@ -44,6 +91,9 @@ public class CategoryService {
 		return new CategoryDTO(entity);
 	}
 
+	@Caching(evict = {
+			@CacheEvict(value = CacheConfig.CATEGORIES, key = "#id"),
+			@CacheEvict(value = CacheConfig.CATEGORY_PAGES, allEntries = true) })
 	@Transactional
 	public CategoryDTO update(Long id, CategoryDTO req) {
 		try {
@@ -56,6 +106,9 @@ public class CategoryService {
 		}
 	}
 
+	@Caching(evict = {
+			@CacheEvict(value = CacheConfig.CATEGORIES, key = "#id"),
+			@CacheEvict(value = CacheConfig.CATEGORY_PAGES, allEntries = true) })
 	public void delete(Long id) {
 		try {
 			repository.deleteById(id);
@@ -0,0 +1,170 @@
+package com.bootcamp.dscatalog.services;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bootcamp.dscatalog.repositories.UserRepository;
+
+/*
+ * Filtro de Bloom dos emails cadastrados. "Não contém" é definitivo e dispensa a consulta ao banco
+ * na validação de unicidade; "talvez contenha" ainda exige a consulta. Remoções não são possíveis
+ * num filtro de Bloom: emails removidos ou trocados só marcam o filtro como desatualizado e ele é
+ * reconstruído periodicamente. A constraint unique de tb_user.email continua sendo a garantia final
+ * (por exemplo, para cadastros feitos por outro nó depois da última reconstrução).
+ */
+@Component
+public class EmailBloomFilter {
+
+	private static final Logger LOG = LoggerFactory.getLogger(EmailBloomFilter.class);
+
+	@Autowired
+	private UserRepository repository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${dscatalog.users.email-filter.enabled}")
+	private boolean enabled;
+
+	@Value("${dscatalog.users.email-filter.expected-insertions}")
+	private long expectedInsertions;
+
+	@Value("${dscatalog.users.email-filter.fpp}")
+	private double fpp;
+
+	private volatile Bits current;
+	private volatile Bits building;
+	private final AtomicLong stale = new AtomicLong();
+
+	public boolean mightContain(String email) {
+		Bits bits = current;
+		if (!enabled || bits == null) {
+			return true;
+		}
+		return email != null && bits.mightContain(email);
+	}
+
+	public void put(String email) {
+		if (email == null) {
+			return;
+		}
+		Bits bits = current;
+		if (bits != null) {
+			bits.put(email);
+		}
+		Bits next = building;
+		if (next != null) {
+			next.put(email);
+		}
+	}
+
+	// Email removido ou alterado: o bit continua marcado até a próxima reconstrução.
+	public void markStale() {
+		stale.incrementAndGet();
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public synchronized void rebuild() {
+		if (!enabled) {
+			return;
+		}
+		stale.set(0);
+		Bits bits = new Bits(expectedInsertions, fpp);
+		building = bits;
+		try {
+			AtomicLong count = new AtomicLong();
+			new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+				try (Stream<String> emails = repository.streamEmails()) {
+					emails.forEach(email -> {
+						bits.put(email);
+						count.incrementAndGet();
+					});
+				}
+			});
+			current = bits;
+			LOG.info("Filtro de emails reconstruído com {} emails", count);
+		} finally {
+			building = null;
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${dscatalog.users.email-filter.rebuild-interval-ms}")
+	public void rebuildIfStale() {
+		if (stale.get() > 0) {
+			rebuild();
+		}
+	}
+
+	// Vetor de bits com k posições por email (double hashing sobre um hash de 64 bits).
+	static class Bits {
+
+		private final AtomicLongArray words;
+		private final long numBits;
+		private final int numHashes;
+
+		Bits(long expectedInsertions, double fpp) {
+			long n = Math.max(1, expectedInsertions);
+			long m = (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+			this.words = new AtomicLongArray((int) ((m + 63) / 64));
+			this.numBits = words.length() * 64L;
+			this.numHashes = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+		}
+
+		void put(String value) {
+			long hash = hash(value);
+			int h1 = (int) hash;
+			int h2 = (int) (hash >>> 32);
+			for (int i = 1; i <= numHashes; i++) {
+				long index = ((h1 + i * h2) & Long.MAX_VALUE) % numBits;
+				int word = (int) (index >>> 6);
+				long mask = 1L << index;
+				long old;
+				do {
+					old = words.get(word);
+				} while ((old & mask) == 0 && !words.compareAndSet(word, old, old | mask));
+			}
+		}
+
+		boolean mightContain(String value) {
+			long hash = hash(value);
+			int h1 = (int) hash;
+			int h2 = (int) (hash >>> 32);
+			for (int i = 1; i <= numHashes; i++) {
+				long index = ((h1 + i * h2) & Long.MAX_VALUE) % numBits;
+				if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		// FNV-1a de 64 bits seguido da finalização do MurmurHash3 para espalhar os bits.
+		private static long hash(String value) {
+			long h = 0xcbf29ce484222325L;
+			for (int i = 0; i < value.length(); i++) {
+				h ^= value.charAt(i);
+				h *= 0x100000001b3L;
+			}
+			h ^= h >>> 33;
+			h *= 0xff51afd7ed558ccdL;
+			h ^= h >>> 33;
+			h *= 0xc4ceb9fe1a85ec53L;
+			h ^= h >>> 33;
+			return h;
+		}
+
+	}
+
+}
@@ -0,0 +1,117 @@
+package com.bootcamp.dscatalog.services;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.bootcamp.dscatalog.services.exceptions.ServiceUnavailableException;
+
+/*
+ * Hash de senhas num pool próprio com o tamanho dos núcleos e fila limitada: picos de cadastro
+ * disputam só esses threads e não a CPU inteira com as leituras do catálogo. Com a fila cheia,
+ * ou se o hash não sair dentro do timeout, a requisição falha rápido com 503.
+ */
+@Service
+public class PasswordHashingService {
+
+	private final PasswordEncoder passwordEncoder;
+	private final ThreadPoolExecutor executor;
+	private final long timeoutMillis;
+	private final ForkJoinPool bulkPool;
+	private final Semaphore bulkPermit = new Semaphore(1);
+
+	@Autowired
+	public PasswordHashingService(PasswordEncoder passwordEncoder,
+			@Value("${dscatalog.password.threads}") int threads,
+			@Value("${dscatalog.password.queue-capacity}") int queueCapacity,
+			@Value("${dscatalog.password.timeout-ms}") long timeoutMillis) {
+		int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		AtomicInteger sequence = new AtomicInteger();
+		this.passwordEncoder = passwordEncoder;
+		this.timeoutMillis = timeoutMillis;
+		this.executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+					Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+		this.bulkPool = new ForkJoinPool(size);
+	}
+
+	public String encode(String rawPassword) {
+		Future<String> future;
+		try {
+			future = executor.submit(() -> passwordEncoder.encode(rawPassword));
+		} catch (RejectedExecutionException e) {
+			throw new ServiceUnavailableException("Muitos cadastros simultâneos, tente novamente");
+		}
+		try {
+			return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			future.cancel(true);
+			throw new ServiceUnavailableException("Tempo esgotado no hash da senha, tente novamente");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ServiceUnavailableException("Hash da senha interrompido");
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	// Importação em massa: hash em paralelo em todos os núcleos (fork-join), uma importação por vez.
+	public List<String> encodeAll(List<String> rawPasswords) {
+		if (!bulkPermit.tryAcquire()) {
+			throw new ServiceUnavailableException("Já existe uma importação de usuários em andamento");
+		}
+		try {
+			return bulkPool.submit(() -> rawPasswords.parallelStream().map(passwordEncoder::encode)
+					.collect(Collectors.toList())).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ServiceUnavailableException("Hash das senhas interrompido");
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			bulkPermit.release();
+		}
+	}
+
+	public int getQueueSize() {
+		return executor.getQueue().size();
+	}
+
+	public int getActiveCount() {
+		return executor.getActiveCount();
+	}
+
+	public int getPoolSize() {
+		return executor.getMaximumPoolSize();
+	}
+
+	public int getQueueRemainingCapacity() {
+		return executor.getQueue().remainingCapacity();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+		bulkPool.shutdownNow();
+	}
+
+}
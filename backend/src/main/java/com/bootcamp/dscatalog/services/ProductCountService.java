@@ -0,0 +1,123 @@
+package com.bootcamp.dscatalog.services;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import org.hibernate.dialect.PostgreSQL81Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bootcamp.dscatalog.config.CacheConfig;
+import com.bootcamp.dscatalog.dto.ProductFilterDTO;
+import com.bootcamp.dscatalog.repositories.ProductRepository;
+import com.bootcamp.dscatalog.services.pagination.TotalCount;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * Total das listagens de produto por filtro, em cache até a próxima escrita de produto (ou a
+ * limpeza periódica, que cobre escritas de outros nós). No PostgreSQL, com estimate-threshold > 0,
+ * tenta antes a estimativa do banco: pg_class.reltuples sem filtro, o número de linhas do plano
+ * (EXPLAIN) com filtro. Se a estimativa passa do limite ela é devolvida como total estimado;
+ * abaixo dele o COUNT é barato e o total é exato.
+ */
+@Service
+public class ProductCountService {
+
+	private static final String RELTUPLES = "SELECT reltuples::bigint FROM pg_class WHERE oid = 'tb_product'::regclass";
+
+	@Autowired
+	private ProductRepository repository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${dscatalog.products.count.estimate-threshold}")
+	private long estimateThreshold;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final boolean postgres;
+
+	@Autowired
+	public ProductCountService(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.postgres = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices()
+				.getDialect() instanceof PostgreSQL81Dialect;
+	}
+
+	@Cacheable(value = CacheConfig.PRODUCT_COUNTS, key = "#filter.countKey()")
+	@Transactional(readOnly = true)
+	public TotalCount count(ProductFilterDTO filter) {
+		if (postgres && estimateThreshold > 0) {
+			long estimate = isUnfiltered(filter) ? jdbcTemplate.queryForObject(RELTUPLES, Long.class) : planEstimate(filter);
+			if (estimate >= estimateThreshold) {
+				return TotalCount.estimated(estimate);
+			}
+		}
+		return TotalCount.exact(repository.countSearch(filter.categoryIdsOrNull(), filter.nameOrEmpty(),
+				filter.getMinPrice(), filter.getMaxPrice(), filter.getMinDate(), filter.getMaxDate()));
+	}
+
+	// Chamado nas escritas de produto e periodicamente.
+	@Scheduled(fixedDelayString = "${dscatalog.products.count.refresh-interval-ms}")
+	@CacheEvict(value = CacheConfig.PRODUCT_COUNTS, allEntries = true)
+	public void invalidate() {
+	}
+
+	private static boolean isUnfiltered(ProductFilterDTO filter) {
+		return filter.categoryIdsOrNull() == null && filter.nameOrEmpty().isEmpty() && filter.getMinPrice() == null
+				&& filter.getMaxPrice() == null && filter.getMinDate() == null && filter.getMaxDate() == null;
+	}
+
+	// Mesmo filtro do ProductRepository.SEARCH_FILTER em SQL, só com as condições informadas.
+	private long planEstimate(ProductFilterDTO filter) {
+		StringBuilder sql = new StringBuilder("EXPLAIN (FORMAT JSON) SELECT 1 FROM tb_product p WHERE TRUE");
+		List<Object> args = new ArrayList<>();
+		List<Long> categoryIds = filter.categoryIdsOrNull();
+		if (categoryIds != null) {
+			sql.append(" AND p.id IN (SELECT pc.product_id FROM tb_product_category pc WHERE pc.category_id IN (")
+					.append(String.join(", ", Collections.nCopies(categoryIds.size(), "?"))).append("))");
+			args.addAll(categoryIds);
+		}
+		if (!filter.nameOrEmpty().isEmpty()) {
+			sql.append(" AND LOWER(p.name) LIKE LOWER(?)");
+			args.add("%" + filter.nameOrEmpty() + "%");
+		}
+		if (filter.getMinPrice() != null) {
+			sql.append(" AND p.price >= ?");
+			args.add(filter.getMinPrice());
+		}
+		if (filter.getMaxPrice() != null) {
+			sql.append(" AND p.price <= ?");
+			args.add(filter.getMaxPrice());
+		}
+		if (filter.getMinDate() != null) {
+			sql.append(" AND p.date >= ?");
+			args.add(Timestamp.from(filter.getMinDate()));
+		}
+		if (filter.getMaxDate() != null) {
+			sql.append(" AND p.date <= ?");
+			args.add(Timestamp.from(filter.getMaxDate()));
+		}
+
+		String plan = jdbcTemplate.queryForObject(sql.toString(), String.class, args.toArray());
+		try {
+			return objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows").asLong(-1);
+		} catch (JsonProcessingException e) {
+			return -1;
+		}
+	}
+
+}
@@ -1,38 +1,185 @@
 package com.bootcamp.dscatalog.services;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+import javax.validation.Validator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.bootcamp.dscatalog.config.CacheConfig;
+import com.bootcamp.dscatalog.dto.BatchItemResultDTO;
 import com.bootcamp.dscatalog.dto.CategoryDTO;
+import com.bootcamp.dscatalog.dto.CursorPageDTO;
+import com.bootcamp.dscatalog.dto.PageDTO;
+import com.bootcamp.dscatalog.dto.ProductCardDTO;
 import com.bootcamp.dscatalog.dto.ProductDTO;
+import com.bootcamp.dscatalog.dto.ProductFilterDTO;
+import com.bootcamp.dscatalog.dto.VersionDTO;
 import com.bootcamp.dscatalog.entities.Category;
 import com.bootcamp.dscatalog.entities.Product;
 import com.bootcamp.dscatalog.repositories.CategoryRepository;
 import com.bootcamp.dscatalog.repositories.ProductRepository;
+import com.bootcamp.dscatalog.services.exceptions.BadRequestException;
 import com.bootcamp.dscatalog.services.exceptions.DataBaseException;
 import com.bootcamp.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.bootcamp.dscatalog.services.exceptions.ValidationException;
+import com.bootcamp.dscatalog.services.export.ExportFormat;
+import com.bootcamp.dscatalog.services.export.ProductExportWriter;
+import com.bootcamp.dscatalog.services.pagination.Cursor;
+import com.bootcamp.dscatalog.services.pagination.TotalCount;
+import com.bootcamp.dscatalog.services.search.ProductSearchIndex;
 
 @Service
 public class ProductService {
 	
+	private static final Logger LOG = LoggerFactory.getLogger(ProductService.class);
+	
 	@Autowired
 	private ProductRepository repository;
 	
 	@Autowired
 	private CategoryRepository categoryRepository;
 	
+	@Autowired
+	private ProductSearchIndex searchIndex;
+	
+	@Autowired
+	private ProductCountService countService;
+	
+	@Autowired
+	private Validator validator;
+	
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	@Value("${dscatalog.batch.max-size:1000}")
+	private int batchMaxSize;
+	
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+	private int jdbcBatchSize;
+	
+	@Transactional(readOnly = true)
+	public Page<ProductDTO> findAllPaged(ProductFilterDTO filter, Pageable pageable) {
+		Page<Long> ids = repository.searchIds(filter.categoryIdsOrNull(), filter.nameOrEmpty(), filter.getMinPrice(),
+				filter.getMaxPrice(), filter.getMinDate(), filter.getMaxDate(), pageable);
+		return loadPage(ids, pageable, !Boolean.FALSE.equals(filter.getWithCategories()));
+	}
+
+	// Ids da página sempre com size + 1 linhas (hasNext); o total, quando pedido, vem do ProductCountService
+	// (em cache, exato ou estimado) e dispensa consulta quando a própria página mostra que é a última.
 	@Transactional(readOnly = true)
-	public Page<ProductDTO> findAllPaged(Pageable pageable) {
-		Page<Product> list = repository.findAll(pageable);
+	public PageDTO<ProductDTO> findAllPaged(ProductFilterDTO filter, Pageable pageable, boolean count) {
+		Slice<Long> ids = repository.searchIdsSlice(filter.categoryIdsOrNull(), filter.nameOrEmpty(), filter.getMinPrice(),
+				filter.getMaxPrice(), filter.getMinDate(), filter.getMaxDate(), pageable);
+		List<ProductDTO> content = loadContent(ids.getContent(), !Boolean.FALSE.equals(filter.getWithCategories()));
+		Slice<ProductDTO> slice = new SliceImpl<>(content, pageable, ids.hasNext());
+		if (!count) {
+			return PageDTO.of(slice);
+		}
+		if (!ids.hasNext() && (ids.hasContent() || pageable.getPageNumber() == 0)) {
+			return PageDTO.of(slice, TotalCount.exact(pageable.getOffset() + ids.getNumberOfElements()));
+		}
+		return PageDTO.of(slice, countService.count(filter));
+	}
+
+	@Transactional(readOnly = true)
+	public Page<ProductCardDTO> findAllCards(ProductFilterDTO filter, Pageable pageable) {
+		return repository.searchCards(filter.categoryIdsOrNull(), filter.nameOrEmpty(), filter.getMinPrice(),
+				filter.getMaxPrice(), filter.getMinDate(), filter.getMaxDate(), pageable);
+	}
+
+	@Transactional(readOnly = true)
+	public Page<ProductDTO> search(String text, Pageable pageable) {
+		Page<Long> ids = searchIndex.search(text, pageable);
+		return loadPage(ids, pageable, true);
+	}
+
+	public long rebuildSearchIndex() {
+		return searchIndex.rebuild();
+	}
+
+	@Transactional(readOnly = true)
+	public CursorPageDTO<ProductDTO> findAllByCursor(String token, int size, String sort) {
+		Cursor.requireSort(sort, "id", "name");
+		Cursor cursor = Cursor.decode(token, sort);
+		Pageable limit = Cursor.limit(size);
 		
-		return list.map(item -> new ProductDTO(item));
+		List<Product> list;
+		if (sort.equals("name")) {
+			list = cursor == null ? repository.findAllByOrderByNameAscIdAsc(limit)
+					: repository.findNextByName(cursor.getKey(), cursor.getId(), limit);
+		} else {
+			list = cursor == null ? repository.findAllByOrderByIdAsc(limit)
+					: repository.findByIdGreaterThanOrderByIdAsc(cursor.getId(), limit);
+		}
+		return CursorPageDTO.of(list, size, item -> new Cursor(sort, item.getName(), item.getId()), ProductDTO::new);
+	}
+
+	@Transactional(readOnly = true)
+	public void export(ExportFormat format, OutputStream out) throws IOException {
+		ProductExportWriter writer = ProductExportWriter.of(format, out);
+		writer.writeHeader();
+		
+		try (Stream<Object[]> rows = repository.streamForExport()) {
+			Object[] current = null;
+			List<Long> categoryIds = new ArrayList<>();
+			for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+				if (current != null && !current[0].equals(row[0])) {
+					writeExportRow(writer, current, categoryIds);
+					categoryIds.clear();
+				}
+				current = row;
+				if (row[6] != null) {
+					categoryIds.add((Long) row[6]);
+				}
+			}
+			if (current != null) {
+				writeExportRow(writer, current, categoryIds);
+			}
+		}
+		writer.flush();
+	}
+
+	@Transactional(readOnly = true)
+	public VersionDTO findVersion(Long id) {
+		return repository.findVersionById(id).orElseThrow(() -> new ResourceNotFoundException("Entity not found"));
 	}
 
 	@Transactional(readOnly = true)
@@ -42,29 +189,59 @@ public class ProductService {
 		return new ProductDTO(entity, entity.getCategories());
 	}
 
+	@CacheEvict(value = CacheConfig.PRODUCT_COUNTS, allEntries = true)
 	@Transactional
 	public ProductDTO insert(ProductDTO req) {
 		Product entity = new Product();
 		copyDtoToEntity(req, entity);
 		entity = repository.save(entity);
+		searchIndex.index(entity);
 		return new ProductDTO(entity);
 	}
 
+	// Itens inválidos são reportados e ignorados; os válidos são gravados em transações de batch-size
+	// produtos (um batch JDBC por transação), como na importação de usuários.
+	@CacheEvict(value = CacheConfig.PRODUCT_COUNTS, allEntries = true)
+	public List<BatchItemResultDTO> insertBatch(List<ProductDTO> items) {
+		if (items.size() > batchMaxSize) {
+			throw new BadRequestException("O lote deve ter no máximo " + batchMaxSize + " produtos");
+		}
+		
+		BatchItemResultDTO[] results = new BatchItemResultDTO[items.size()];
+		Map<Long, Category> categories = findCategories(
+				items.stream().filter(Objects::nonNull).collect(Collectors.toList()));
+		List<Integer> valid = new ArrayList<>();
+		for (int i = 0; i < items.size(); i++) {
+			BatchItemResultDTO result = validateBatchItem(i, items.get(i), categories);
+			if (result.getErrors().isEmpty()) {
+				valid.add(i);
+			} else {
+				results[i] = result;
+			}
+		}
+		
+		for (int from = 0; from < valid.size(); from += jdbcBatchSize) {
+			persistChunk(items, valid.subList(from, Math.min(from + jdbcBatchSize, valid.size())), categories, results);
+		}
+		return Arrays.asList(results);
+	}
+
+	@CacheEvict(value = CacheConfig.PRODUCT_COUNTS, allEntries = true)
 	@Transactional
 	public ProductDTO update(Long id, ProductDTO req) {
-		try {
-			Product entity = repository.getOne(id);
-			copyDtoToEntity(req, entity);
-			entity = repository.save(entity);
-			return new ProductDTO(entity);	
-		} catch (javax.persistence.EntityNotFoundException e){
-			throw new ResourceNotFoundException("Id not found " + id);
-		}
+		Product entity = repository.findWithCategoriesById(id)
+				.orElseThrow(() -> new ResourceNotFoundException("Id not found " + id));
+		copyDtoToEntity(req, entity);
+		entity = repository.save(entity);
+		searchIndex.index(entity);
+		return new ProductDTO(entity);
 	}
 
+	@CacheEvict(value = CacheConfig.PRODUCT_COUNTS, allEntries = true)
 	public void delete(Long id) {
 		try {
 			repository.deleteById(id);
+			searchIndex.remove(id);
 		} catch (EmptyResultDataAccessException e) {
 			throw new ResourceNotFoundException("Id not found " + id);
 		} catch (DataIntegrityViolationException e) {
@@ -72,18 +249,135 @@ public class ProductService {
 		}
 	}
 	
+	private BatchItemResultDTO validateBatchItem(int index, ProductDTO dto, Map<Long, Category> categories) {
+		BatchItemResultDTO result = new BatchItemResultDTO(index, BatchItemResultDTO.INVALID, null);
+		if (dto == null) {
+			result.addError(null, "Produto não informado");
+			return result;
+		}
+		validator.validate(dto).forEach(v -> result.addError(v.getPropertyPath().toString(), v.getMessage()));
+		if (result.getErrors().isEmpty()) {
+			try {
+				copyDtoToEntity(dto, new Product(), categories);
+			} catch (ValidationException e) {
+				e.getErrors().forEach(error -> result.addError(error.getFieldName(), error.getMessage()));
+			}
+		}
+		return result;
+	}
+	
+	private void persistChunk(List<ProductDTO> items, List<Integer> indexes, Map<Long, Category> categories,
+			BatchItemResultDTO[] results) {
+		List<Product> created = new ArrayList<>();
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				for (int i : indexes) {
+					Product entity = new Product();
+					copyDtoToEntity(items.get(i), entity, categories);
+					entityManager.persist(entity);
+					created.add(entity);
+				}
+				entityManager.flush();
+				searchIndex.index(created);
+				entityManager.clear();
+			});
+		} catch (PersistenceException | DataAccessException | TransactionException e) {
+			// O bloco inteiro volta atrás; cada produto é gravado de novo sozinho, e só os que falharem viram FAILED.
+			if (indexes.size() > 1) {
+				indexes.forEach(i -> persistChunk(items, List.of(i), categories, results));
+				return;
+			}
+			int i = indexes.get(0);
+			LOG.error("Falha ao gravar o produto {} do lote", i, e);
+			results[i] = new BatchItemResultDTO(i, BatchItemResultDTO.FAILED, null);
+			results[i].addError(null, "Falha ao gravar o produto");
+			return;
+		}
+		for (int j = 0; j < indexes.size(); j++) {
+			int i = indexes.get(j);
+			results[i] = new BatchItemResultDTO(i, BatchItemResultDTO.CREATED, created.get(j).getId());
+		}
+	}
+	
+	private void writeExportRow(ProductExportWriter writer, Object[] row, List<Long> categoryIds) throws IOException {
+		writer.write((Long) row[0], (String) row[1], (String) row[2], (Double) row[3], (String) row[4],
+				(Instant) row[5], categoryIds);
+	}
+	
+	// Preserva a ordem dos ids da página (ordenação do banco ou ranking do índice).
+	// Uma única consulta para a página inteira: com join fetch das categorias ou, sem elas, um IN pelos ids.
+	private Page<ProductDTO> loadPage(Page<Long> ids, Pageable pageable, boolean withCategories) {
+		return new PageImpl<>(loadContent(ids.getContent(), withCategories), pageable, ids.getTotalElements());
+	}
+	
+	// Carrega os produtos dos ids mantendo a ordem da página.
+	private List<ProductDTO> loadContent(List<Long> ids, boolean withCategories) {
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+		
+		List<Product> list = withCategories ? repository.findWithCategories(ids) : repository.findAllById(ids);
+		Map<Long, Product> products = list.stream().collect(Collectors.toMap(Product::getId, Function.identity()));
+		
+		return ids.stream().filter(products::containsKey).map(products::get)
+				.map(item -> withCategories ? new ProductDTO(item, item.getCategories()) : new ProductDTO(item))
+				.collect(Collectors.toList());
+	}
+	
 	private void copyDtoToEntity(ProductDTO dto, Product entity) {
+		copyDtoToEntity(dto, entity, findCategories(List.of(dto)));
+	}
+	
+	private void copyDtoToEntity(ProductDTO dto, Product entity, Map<Long, Category> knownCategories) {
 		entity.setName(dto.getName());
 		entity.setDescription(dto.getDescription());
 		entity.setDate(dto.getDate());
 		entity.setImgUrl(dto.getImgUrl());
 		entity.setPrice(dto.getPrice());
 		
-		entity.getCategories().clear();
-		for (CategoryDTO catDto: dto.getCategories()) {
-			Category category = categoryRepository.getOne(catDto.getId());
-			entity.getCategories().add(category);
+		// Ids inexistentes viram erro de validação.
+		Set<Category> categories = new HashSet<>();
+		ValidationException exception = new ValidationException("Categorias inválidas");
+		for (CategoryDTO categoryDto : dto.getCategories()) {
+			Category category = knownCategories.get(categoryDto.getId());
+			if (category == null) {
+				exception.addError("categories", "Categoria não encontrada: " + categoryDto.getId());
+			} else {
+				categories.add(category);
+			}
+		}
+		if (!exception.getErrors().isEmpty()) {
+			throw exception;
+		}
+		
+		// Altera o conjunto em vez de recriá-lo: o Hibernate grava só as linhas de tb_product_category que mudaram.
+		entity.getCategories().retainAll(categories);
+		entity.getCategories().addAll(categories);
+	}
+	
+	// Todas as categorias citadas pelos produtos numa única consulta.
+	private Map<Long, Category> findCategories(List<ProductDTO> dtos) {
+		Set<Long> ids = dtos.stream().flatMap(dto -> dto.getCategories().stream()).map(CategoryDTO::getId)
+				.filter(Objects::nonNull).collect(Collectors.toSet());
+		if (ids.isEmpty()) {
+			return Map.of();
+		}
+		// Categorias já no cache de segundo nível saem dele (find por id não vai ao banco);
+		// só as ausentes são buscadas, numa consulta, e passam a ficar no cache.
+		Cache cache = entityManager.getEntityManagerFactory().getCache();
+		Map<Long, Category> categories = new HashMap<>();
+		List<Long> missing = new ArrayList<>();
+		for (Long id : ids) {
+			if (cache.contains(Category.class, id)) {
+				categories.put(id, entityManager.find(Category.class, id));
+			} else {
+				missing.add(id);
+			}
+		}
+		if (!missing.isEmpty()) {
+			categoryRepository.findAllById(missing).forEach(category -> categories.put(category.getId(), category));
 		}
+		return categories;
 	}
 
 }
@@ -0,0 +1,97 @@
+package com.bootcamp.dscatalog.services;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.bootcamp.dscatalog.dto.RoleDTO;
+import com.bootcamp.dscatalog.entities.Role;
+import com.bootcamp.dscatalog.repositories.RoleRepository;
+
+/*
+ * Os papéis são um conjunto fixo (ROLE_OPERATOR, ROLE_ADMIN), carregado uma vez na subida.
+ * Leituras usam um snapshot imutável, sem acesso ao banco; um id desconhecido provoca uma
+ * recarga (papel criado depois da subida) antes de ser considerado inválido, no máximo uma
+ * vez por refresh-interval-ms, para ids inválidos repetidos não irem ao banco a cada consulta.
+ * Os RoleDTO são compartilhados entre todos os UserDTO e não devem ser alterados.
+ */
+@Component
+public class RoleDictionary {
+
+	@Autowired
+	private RoleRepository repository;
+
+	@Value("${dscatalog.roles.refresh-interval-ms:60000}")
+	private long refreshIntervalMillis;
+
+	private volatile Snapshot snapshot;
+	private long lastRefresh;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public synchronized void refresh() {
+		snapshot = new Snapshot(repository.findAll());
+		lastRefresh = System.nanoTime();
+	}
+
+	// Retorna null quando o papel não existe.
+	public Role getRole(Long id) {
+		Role role = current().roles.get(id);
+		if (role == null && id != null) {
+			role = refreshOnMiss().roles.get(id);
+		}
+		return role;
+	}
+
+	public RoleDTO getDto(Role role) {
+		RoleDTO dto = current().dtos.get(role.getId());
+		if (dto == null) {
+			dto = refreshOnMiss().dtos.getOrDefault(role.getId(), new RoleDTO(role));
+		}
+		return dto;
+	}
+
+	public Set<RoleDTO> toDtos(Collection<Role> roles) {
+		Set<RoleDTO> dtos = new HashSet<>();
+		roles.forEach(role -> dtos.add(getDto(role)));
+		return dtos;
+	}
+
+	private synchronized Snapshot refreshOnMiss() {
+		if (System.nanoTime() - lastRefresh >= TimeUnit.MILLISECONDS.toNanos(refreshIntervalMillis)) {
+			refresh();
+		}
+		return snapshot;
+	}
+
+	private Snapshot current() {
+		Snapshot current = snapshot;
+		if (current == null) {
+			refresh();
+			current = snapshot;
+		}
+		return current;
+	}
+
+	private static class Snapshot {
+
+		private final Map<Long, Role> roles;
+		private final Map<Long, RoleDTO> dtos;
+
+		Snapshot(Collection<Role> list) {
+			roles = list.stream().collect(Collectors.toUnmodifiableMap(Role::getId, Function.identity()));
+			dtos = list.stream().collect(Collectors.toUnmodifiableMap(Role::getId, RoleDTO::new));
+		}
+
+	}
+
+}
@@ -1,69 +1,209 @@
 package com.bootcamp.dscatalog.services;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+import javax.validation.Validator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.bootcamp.dscatalog.dto.BatchItemResultDTO;
+import com.bootcamp.dscatalog.dto.CursorPageDTO;
 import com.bootcamp.dscatalog.dto.RoleDTO;
 import com.bootcamp.dscatalog.dto.UserDTO;
 import com.bootcamp.dscatalog.dto.UserInsertDTO;
 import com.bootcamp.dscatalog.dto.UserUpdateDTO;
+import com.bootcamp.dscatalog.dto.VersionDTO;
 import com.bootcamp.dscatalog.entities.Role;
 import com.bootcamp.dscatalog.entities.User;
-import com.bootcamp.dscatalog.repositories.RoleRepository;
 import com.bootcamp.dscatalog.repositories.UserRepository;
+import com.bootcamp.dscatalog.services.exceptions.BadRequestException;
 import com.bootcamp.dscatalog.services.exceptions.DataBaseException;
 import com.bootcamp.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.bootcamp.dscatalog.services.exceptions.ValidationException;
+import com.bootcamp.dscatalog.services.pagination.Cursor;
 
 @Service
 public class UserService {
 	
+	private static final Logger LOG = LoggerFactory.getLogger(UserService.class);
+	
+	// Limite de valores por cláusula IN (bancos como Oracle e alguns drivers não aceitam listas maiores).
+	private static final int IN_CLAUSE_SIZE = 1000;
+	
 	@Autowired
 	private UserRepository repository;
 	
 	@Autowired
-	private BCryptPasswordEncoder passwordEncoder;
+	private PasswordHashingService passwordHashing;
+	
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	
+	@Autowired
+	private RoleDictionary roleDictionary;
 	
 	@Autowired
-	private RoleRepository roleRepository;
+	private EmailBloomFilter emailFilter;
+	
+	@Autowired
+	private Validator validator;
+	
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	@Value("${dscatalog.users.batch.max-size}")
+	private int batchMaxSize;
+	
+	@Value("${dscatalog.users.batch.chunk-size}")
+	private int batchChunkSize;
+	
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+	private int jdbcBatchSize;
 	
 	@Transactional(readOnly = true)
 	public Page<UserDTO> findAllPaged(Pageable pageable) {
 		Page<User> list = repository.findAll(pageable);
 		
-		return list.map(item -> new UserDTO(item));
+		return list.map(this::toDto);
+	}
+
+	@Transactional(readOnly = true)
+	public Slice<UserDTO> findAllPaged(Pageable pageable, boolean count) {
+		Slice<User> list = count ? repository.findAll(pageable) : repository.findSliceBy(pageable);
+		
+		return list.map(this::toDto);
+	}
+
+	@Transactional(readOnly = true)
+	public CursorPageDTO<UserDTO> findAllByCursor(String token, int size, String sort) {
+		Cursor.requireSort(sort, "id", "email");
+		Cursor cursor = Cursor.decode(token, sort);
+		Pageable limit = Cursor.limit(size);
+		
+		List<User> list;
+		if (sort.equals("email")) {
+			list = cursor == null ? repository.findAllByOrderByEmailAscIdAsc(limit)
+					: repository.findNextByEmail(cursor.getKey(), cursor.getId(), limit);
+		} else {
+			list = cursor == null ? repository.findAllByOrderByIdAsc(limit)
+					: repository.findByIdGreaterThanOrderByIdAsc(cursor.getId(), limit);
+		}
+		return CursorPageDTO.of(list, size, item -> new Cursor(sort, item.getEmail(), item.getId()), this::toDto);
+	}
+
+	@Transactional(readOnly = true)
+	public VersionDTO findVersion(Long id) {
+		return repository.findVersionById(id).orElseThrow(() -> new ResourceNotFoundException("Entity not found"));
 	}
 
 	@Transactional(readOnly = true)
 	public UserDTO findById(Long id) {
 		Optional<User> obj = repository.findById(id);
 		User entity = obj.orElseThrow(() -> new ResourceNotFoundException("Entity not found"));
-		return new UserDTO(entity);
+		return toDto(entity);
 	}
 
-	@Transactional
+	// O hash (caro em CPU) roda no pool de hashing antes de abrir a transação,
+	// assim nenhuma conexão do pool JDBC fica presa esperando por ele.
 	public UserDTO insert(UserInsertDTO req) {
-		User entity = new User();
-		copyDtoToEntity(req, entity);
-		entity.setPassword(passwordEncoder.encode(req.getPassword()));
-		entity = repository.save(entity);
-		return new UserDTO(entity);
+		String password = passwordHashing.encode(req.getPassword());
+		return transactionTemplate.execute(status -> {
+			User entity = new User();
+			copyDtoToEntity(req, entity);
+			entity.setPassword(password);
+			try {
+				// Com id de sequence o INSERT só iria no commit; o flush traz a violação de email único para cá.
+				entity = repository.saveAndFlush(entity);
+			} catch (DataIntegrityViolationException e) {
+				// Email cadastrado concorrentemente (ou por outro nó) depois da validação.
+				ValidationException exception = new ValidationException("Email já existe");
+				exception.addError("email", "Email já existe!!");
+				throw exception;
+			}
+			emailFilter.put(entity.getEmail());
+			return toDto(entity);
+		});
+	}
+
+	// Importação em massa: emails já cadastrados conferidos numa consulta por bloco, hash das senhas
+	// em paralelo e gravação em transações de chunk-size usuários com batch JDBC (users e tb_user_role).
+	public List<BatchItemResultDTO> insertBatch(List<UserInsertDTO> items) {
+		if (items.size() > batchMaxSize) {
+			throw new BadRequestException("O lote deve ter no máximo " + batchMaxSize + " usuários");
+		}
+		
+		BatchItemResultDTO[] results = new BatchItemResultDTO[items.size()];
+		Map<String, Integer> emails = new HashMap<>();
+		for (int i = 0; i < items.size(); i++) {
+			BatchItemResultDTO result = validateBatchItem(i, items.get(i), emails);
+			if (!result.getErrors().isEmpty()) {
+				results[i] = result;
+			}
+		}
+		
+		List<String> pending = new ArrayList<>(emails.keySet());
+		for (int from = 0; from < pending.size(); from += IN_CLAUSE_SIZE) {
+			List<String> block = pending.subList(from, Math.min(from + IN_CLAUSE_SIZE, pending.size()));
+			for (String email : repository.findExistingEmails(block)) {
+				int i = emails.get(email);
+				results[i] = new BatchItemResultDTO(i, BatchItemResultDTO.INVALID, null);
+				results[i].addError("email", "Email já existe!!");
+			}
+		}
+		
+		List<Integer> valid = new ArrayList<>();
+		for (int i = 0; i < items.size(); i++) {
+			if (results[i] == null) {
+				valid.add(i);
+			}
+		}
+		List<String> hashes = passwordHashing.encodeAll(
+				valid.stream().map(i -> items.get(i).getPassword()).collect(Collectors.toList()));
+		
+		for (int from = 0; from < valid.size(); from += batchChunkSize) {
+			int to = Math.min(from + batchChunkSize, valid.size());
+			persistChunk(items, valid.subList(from, to), hashes.subList(from, to), results);
+		}
+		return Arrays.asList(results);
 	}
 
 	@Transactional
 	public UserDTO update(Long id, UserUpdateDTO req) {
 		try {
 			User entity = repository.getOne(id);
+			String oldEmail = entity.getEmail();
 			copyDtoToEntity(req, entity);
 			entity = repository.save(entity);
-			return new UserDTO(entity);	
+			if (!Objects.equals(oldEmail, entity.getEmail())) {
+				emailFilter.put(entity.getEmail());
+				emailFilter.markStale();
+			}
+			return toDto(entity);	
 		} catch (javax.persistence.EntityNotFoundException e){
 			throw new ResourceNotFoundException("Id not found " + id);
 		}
@@ -72,6 +212,7 @@ public class UserService {
 	public void delete(Long id) {
 		try {
 			repository.deleteById(id);
+			emailFilter.markStale();
 		} catch (EmptyResultDataAccessException e) {
 			throw new ResourceNotFoundException("Id not found " + id);
 		} catch (DataIntegrityViolationException e) {
@@ -84,11 +225,101 @@ public class UserService {
 		entity.setLastName(dto.getLastName());
 		entity.setEmail(dto.getEmail());
 		
-		entity.getRoles().clear();
-		for (RoleDTO catDto: dto.getRoles()) {
-			Role role = roleRepository.getOne(catDto.getId());
-			entity.getRoles().add(role);
+		// Papéis vêm do dicionário em memória; ids desconhecidos viram erro de validação.
+		Set<Role> roles = new HashSet<>();
+		ValidationException exception = new ValidationException("Papéis inválidos");
+		for (RoleDTO roleDto : dto.getRoles()) {
+			Role role = roleDictionary.getRole(roleDto.getId());
+			if (role == null) {
+				exception.addError("roles", "Papel não encontrado: " + roleDto.getId());
+			} else {
+				roles.add(role);
+			}
+		}
+		if (!exception.getErrors().isEmpty()) {
+			throw exception;
 		}
+		entity.getRoles().retainAll(roles);
+		entity.getRoles().addAll(roles);
+	}
+	
+	private BatchItemResultDTO validateBatchItem(int index, UserInsertDTO dto, Map<String, Integer> emails) {
+		BatchItemResultDTO result = new BatchItemResultDTO(index, BatchItemResultDTO.INVALID, null);
+		validator.validate(dto).forEach(v -> result.addError(v.getPropertyPath().toString(), v.getMessage()));
+		if (dto.getPassword() == null || dto.getPassword().isEmpty()) {
+			result.addError("password", "Campo obrigatório");
+		}
+		for (RoleDTO role : dto.getRoles()) {
+			if (roleDictionary.getRole(role.getId()) == null) {
+				result.addError("roles", "Papel não encontrado: " + role.getId());
+			}
+		}
+		if (dto.getEmail() != null && result.getErrors().isEmpty() && emails.putIfAbsent(dto.getEmail(), index) != null) {
+			result.addError("email", "Email repetido no lote");
+		}
+		return result;
+	}
+	
+	private void persistChunk(List<UserInsertDTO> items, List<Integer> indexes, List<String> hashes,
+			BatchItemResultDTO[] results) {
+		if (indexes.isEmpty()) {
+			return;
+		}
+		List<User> created = new ArrayList<>();
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				for (int j = 0; j < indexes.size(); j++) {
+					User entity = new User();
+					copyDtoToEntity(items.get(indexes.get(j)), entity);
+					entity.setPassword(hashes.get(j));
+					entityManager.persist(entity);
+					created.add(entity);
+					if (created.size() % jdbcBatchSize == 0) {
+						entityManager.flush();
+						entityManager.clear();
+					}
+				}
+				entityManager.flush();
+				entityManager.clear();
+			});
+		} catch (PersistenceException | DataAccessException | TransactionException e) {
+			// O chunk inteiro volta atrás. Email cadastrado por outra requisição no meio do lote vira erro no
+			// campo email, como no insert unitário, e os demais usuários do bloco são gravados de novo.
+			List<String> emails = indexes.stream().map(i -> items.get(i).getEmail()).collect(Collectors.toList());
+			Set<String> existing = new HashSet<>(repository.findExistingEmails(emails));
+			if (!existing.isEmpty()) {
+				List<Integer> retry = new ArrayList<>();
+				List<String> retryHashes = new ArrayList<>();
+				for (int j = 0; j < indexes.size(); j++) {
+					int i = indexes.get(j);
+					if (existing.contains(items.get(i).getEmail())) {
+						results[i] = new BatchItemResultDTO(i, BatchItemResultDTO.INVALID, null);
+						results[i].addError("email", "Email já existe!!");
+					} else {
+						retry.add(i);
+						retryHashes.add(hashes.get(j));
+					}
+				}
+				persistChunk(items, retry, retryHashes, results);
+				return;
+			}
+			LOG.error("Falha ao gravar bloco de {} usuários", indexes.size(), e);
+			for (int i : indexes) {
+				results[i] = new BatchItemResultDTO(i, BatchItemResultDTO.FAILED, null);
+				results[i].addError(null, "Falha ao gravar o bloco do usuário");
+			}
+			return;
+		}
+		for (int j = 0; j < indexes.size(); j++) {
+			int i = indexes.get(j);
+			User entity = created.get(j);
+			results[i] = new BatchItemResultDTO(i, BatchItemResultDTO.CREATED, entity.getId());
+			emailFilter.put(entity.getEmail());
+		}
+	}
+	
+	private UserDTO toDto(User entity) {
+		return new UserDTO(entity, roleDictionary.toDtos(entity.getRoles()));
 	}
 
 }
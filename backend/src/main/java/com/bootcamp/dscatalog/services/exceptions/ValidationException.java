@@ -0,0 +1,26 @@
+package com.bootcamp.dscatalog.services.exceptions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.bootcamp.dscatalog.resources.exceptions.FieldMessage;
+
+public class ValidationException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private List<FieldMessage> errors = new ArrayList<>();
+	
+	public ValidationException(String msg) {
+		super(msg);
+	}
+	
+	public List<FieldMessage> getErrors() {
+		return errors;
+	}
+	
+	public void addError(String fieldName, String message) {
+		errors.add(new FieldMessage(fieldName, message));
+	}
+
+}
@@ -0,0 +1,64 @@
+package com.bootcamp.dscatalog.services.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class CsvProductExportWriter implements ProductExportWriter {
+
+	public static final String HEADER = "id,name,description,price,imgUrl,date,categories";
+	public static final String CATEGORY_SEPARATOR = ";";
+
+	private final Writer writer;
+
+	public CsvProductExportWriter(OutputStream out) {
+		this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+	}
+
+	@Override
+	public void writeHeader() throws IOException {
+		writer.write(HEADER);
+		writer.write('\n');
+	}
+
+	@Override
+	public void write(Long id, String name, String description, Double price, String imgUrl, Instant date,
+			List<Long> categoryIds) throws IOException {
+		writer.write(String.valueOf(id));
+		writer.write(',');
+		writer.write(escape(name));
+		writer.write(',');
+		writer.write(escape(description));
+		writer.write(',');
+		writer.write(price == null ? "" : String.valueOf(price));
+		writer.write(',');
+		writer.write(escape(imgUrl));
+		writer.write(',');
+		writer.write(date == null ? "" : date.toString());
+		writer.write(',');
+		writer.write(categoryIds.stream().map(String::valueOf).collect(Collectors.joining(CATEGORY_SEPARATOR)));
+		writer.write('\n');
+	}
+
+	@Override
+	public void flush() throws IOException {
+		writer.flush();
+	}
+
+	static String escape(String value) {
+		if (value == null) {
+			return "";
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+			return value;
+		}
+		return "\"" + value.replace("\"", "\"\"") + "\"";
+	}
+
+}
@@ -0,0 +1,35 @@
+package com.bootcamp.dscatalog.services.export;
+
+import com.bootcamp.dscatalog.services.exceptions.BadRequestException;
+
+public enum ExportFormat {
+
+	NDJSON("application/x-ndjson", "ndjson"),
+	CSV("text/csv", "csv");
+
+	private final String contentType;
+	private final String extension;
+
+	private ExportFormat(String contentType, String extension) {
+		this.contentType = contentType;
+		this.extension = extension;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	public String getExtension() {
+		return extension;
+	}
+
+	public static ExportFormat of(String value) {
+		for (ExportFormat format : values()) {
+			if (format.extension.equalsIgnoreCase(value)) {
+				return format;
+			}
+		}
+		throw new BadRequestException("Formato não suportado: " + value);
+	}
+
+}
@@ -0,0 +1,57 @@
+package com.bootcamp.dscatalog.services.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+
+public class NdjsonProductExportWriter implements ProductExportWriter {
+
+	private static final JsonFactory FACTORY = new JsonFactory();
+
+	private final JsonGenerator generator;
+
+	public NdjsonProductExportWriter(OutputStream out) throws IOException {
+		this.generator = FACTORY.createGenerator(out, JsonEncoding.UTF8);
+		this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		this.generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+	}
+
+	@Override
+	public void writeHeader() throws IOException {
+	}
+
+	@Override
+	public void write(Long id, String name, String description, Double price, String imgUrl, Instant date,
+			List<Long> categoryIds) throws IOException {
+		generator.writeStartObject();
+		generator.writeNumberField("id", id);
+		generator.writeStringField("name", name);
+		generator.writeStringField("description", description);
+		if (price == null) {
+			generator.writeNullField("price");
+		} else {
+			generator.writeNumberField("price", price);
+		}
+		generator.writeStringField("imgUrl", imgUrl);
+		generator.writeStringField("date", date == null ? null : date.toString());
+		generator.writeArrayFieldStart("categories");
+		for (Long categoryId : categoryIds) {
+			generator.writeNumber(categoryId);
+		}
+		generator.writeEndArray();
+		generator.writeEndObject();
+	}
+
+	@Override
+	public void flush() throws IOException {
+		generator.writeRaw('\n');
+		generator.flush();
+	}
+
+}
@@ -0,0 +1,29 @@
+package com.bootcamp.dscatalog.services.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.List;
+
+/*
+ * Escreve uma linha por produto direto no stream de saída, sem acumular a lista em memória.
+ */
+public interface ProductExportWriter {
+
+	void writeHeader() throws IOException;
+
+	void write(Long id, String name, String description, Double price, String imgUrl, Instant date,
+			List<Long> categoryIds) throws IOException;
+
+	void flush() throws IOException;
+
+	static ProductExportWriter of(ExportFormat format, OutputStream out) throws IOException {
+		switch (format) {
+		case CSV:
+			return new CsvProductExportWriter(out);
+		default:
+			return new NdjsonProductExportWriter(out);
+		}
+	}
+
+}
@@ -0,0 +1,233 @@
+package com.bootcamp.dscatalog.services.generator;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.bootcamp.dscatalog.entities.Category;
+import com.bootcamp.dscatalog.entities.Product;
+import com.bootcamp.dscatalog.entities.Role;
+import com.bootcamp.dscatalog.entities.User;
+import com.bootcamp.dscatalog.repositories.CategoryRepository;
+import com.bootcamp.dscatalog.repositories.RoleRepository;
+import com.bootcamp.dscatalog.services.imports.ProductBulkWriter;
+import com.bootcamp.dscatalog.services.imports.UserBulkWriter;
+
+/*
+ * Gera um catálogo sintético em volume (perfil "generate"), somado aos dados do import.sql:
+ *   java -jar dscatalog.jar --spring.profiles.active=test,generate --dscatalog.generator.products=10000000
+ * A participação das categorias segue uma distribuição de Zipf (poucas categorias concentram
+ * a maioria dos produtos, como no catálogo real). A gravação usa os mesmos bulk writers da
+ * importação (COPY no PostgreSQL, batch JDBC nos demais). Com a mesma semente o conteúdo gerado
+ * é o mesmo; só os emails levam um sufixo por execução para não colidir com gerações anteriores.
+ */
+@Component
+@Profile("generate")
+public class CatalogGenerator implements ApplicationRunner {
+
+	private static final Logger LOG = LoggerFactory.getLogger(CatalogGenerator.class);
+
+	private static final String[] NOUNS = { "Notebook", "Smartphone", "Monitor", "Teclado", "Mouse", "Cadeira",
+			"Livro", "Fone", "Câmera", "Tablet", "Impressora", "Roteador", "Console", "Relógio", "Mochila" };
+	private static final String[] ADJECTIVES = { "Pro", "Gamer", "Ultra", "Slim", "Max", "Plus", "Lite", "Premium",
+			"Compacto", "Sem Fio", "Mecânico", "Portátil" };
+	private static final String[] WORDS = { "lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing",
+			"elit", "sed", "do", "eiusmod", "tempor", "incididunt", "ut", "labore", "et", "dolore", "magna", "aliqua" };
+	private static final String[] FIRST_NAMES = { "Ana", "Bruno", "Carla", "Diego", "Elisa", "Felipe", "Gabriela",
+			"Henrique", "Isabela", "João", "Larissa", "Marcos", "Natália", "Otávio", "Paula", "Rafael" };
+	private static final String[] LAST_NAMES = { "Silva", "Souza", "Costa", "Santos", "Oliveira", "Pereira",
+			"Rodrigues", "Almeida", "Nascimento", "Lima", "Araújo", "Fernandes" };
+	private static final long DATE_RANGE_SECONDS = Duration.ofDays(3 * 365).getSeconds();
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	@Autowired
+	private ProductBulkWriter productWriter;
+
+	@Autowired
+	private UserBulkWriter userWriter;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private ConfigurableApplicationContext context;
+
+	@Value("${dscatalog.generator.products}")
+	private long products;
+
+	@Value("${dscatalog.generator.categories}")
+	private int categories;
+
+	@Value("${dscatalog.generator.users}")
+	private long users;
+
+	@Value("${dscatalog.generator.category-skew}")
+	private double categorySkew;
+
+	@Value("${dscatalog.generator.max-categories-per-product}")
+	private int maxCategoriesPerProduct;
+
+	@Value("${dscatalog.generator.chunk-size}")
+	private int chunkSize;
+
+	@Value("${dscatalog.generator.seed}")
+	private long seed;
+
+	@Value("${dscatalog.generator.user-password}")
+	private String userPassword;
+
+	@Value("${dscatalog.generator.exit}")
+	private boolean exit;
+
+	@Override
+	public void run(ApplicationArguments args) {
+		Random random = new Random(seed);
+		long start = System.nanoTime();
+
+		List<Category> allCategories = generateCategories(random);
+		generateProducts(random, allCategories);
+		generateUsers(random);
+
+		LOG.info("Catálogo sintético gerado em {} s ({} produtos, {} categorias novas, {} usuários, modo {})",
+				(System.nanoTime() - start) / 1_000_000_000, products, categories, users, productWriter.mode());
+		if (exit) {
+			System.exit(SpringApplication.exit(context));
+		}
+	}
+
+	private List<Category> generateCategories(Random random) {
+		List<Category> created = new ArrayList<>(categories);
+		for (int i = 1; i <= categories; i++) {
+			created.add(new Category(null, String.format("Categoria %04d", i)));
+		}
+		categoryRepository.saveAll(created);
+
+		// Embaralha para que as categorias mais populares não sejam sempre as de menor id.
+		List<Category> all = new ArrayList<>(categoryRepository.findAll());
+		Collections.shuffle(all, random);
+		return all;
+	}
+
+	private void generateProducts(Random random, List<Category> allCategories) {
+		ZipfSampler sampler = new ZipfSampler(allCategories.size(), categorySkew);
+		long minDate = Instant.now().getEpochSecond() - DATE_RANGE_SECONDS;
+		List<Product> chunk = new ArrayList<>(chunkSize);
+		long start = System.nanoTime();
+		for (long i = 1; i <= products; i++) {
+			String name = NOUNS[random.nextInt(NOUNS.length)] + " " + ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + i;
+			// Preço log-normal: muitos produtos baratos e uma cauda de produtos caros.
+			double price = Math.round(Math.exp(4.5 + random.nextGaussian()) * 100) / 100.0 + 1;
+			Instant date = Instant.ofEpochSecond(minDate + (long) (random.nextDouble() * DATE_RANGE_SECONDS));
+			Product product = new Product(null, name, description(random), price,
+					"https://img.dscatalog.com/products/" + i + ".jpg", date);
+
+			int count = allCategories.isEmpty() ? 0 : 1 + random.nextInt(Math.min(maxCategoriesPerProduct, allCategories.size()));
+			while (product.getCategories().size() < count) {
+				product.getCategories().add(allCategories.get(sampler.sample(random)));
+			}
+
+			chunk.add(product);
+			if (chunk.size() == chunkSize || i == products) {
+				productWriter.write(chunk);
+				chunk.clear();
+				logProgress("produtos", i, products, start);
+			}
+		}
+	}
+
+	private void generateUsers(Random random) {
+		List<Role> roles = roleRepository.findAll();
+		if (roles.isEmpty()) {
+			LOG.warn("Nenhum role cadastrado, usuários não serão gerados");
+			return;
+		}
+		// Um único hash para todos: o BCrypt por usuário tornaria a geração em volume inviável.
+		String hash = passwordEncoder.encode(userPassword);
+		String run = Long.toString(System.currentTimeMillis(), 36);
+		List<User> chunk = new ArrayList<>(chunkSize);
+		long start = System.nanoTime();
+		for (long i = 1; i <= users; i++) {
+			String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+			String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+			String email = "user" + i + "." + run + "@dscatalog.com";
+			User user = new User(null, firstName, lastName, email, hash);
+			user.getRoles().add(roles.get(0));
+			if (roles.size() > 1 && random.nextInt(20) == 0) {
+				user.getRoles().add(roles.get(1));
+			}
+
+			chunk.add(user);
+			if (chunk.size() == chunkSize || i == users) {
+				userWriter.write(chunk);
+				chunk.clear();
+				logProgress("usuários", i, users, start);
+			}
+		}
+	}
+
+	private static String description(Random random) {
+		int words = 15 + random.nextInt(40);
+		StringBuilder sb = new StringBuilder(words * 8);
+		for (int i = 0; i < words; i++) {
+			if (i > 0) {
+				sb.append(' ');
+			}
+			sb.append(WORDS[random.nextInt(WORDS.length)]);
+		}
+		return sb.append('.').toString();
+	}
+
+	private void logProgress(String what, long done, long total, long start) {
+		if (done == total || done % (chunkSize * 20L) == 0) {
+			double seconds = Math.max((System.nanoTime() - start) / 1e9, 0.001);
+			LOG.info("Gerados {}/{} {} ({} linhas/s)", done, total, what, Math.round(done / seconds));
+		}
+	}
+
+	/*
+	 * Amostragem de Zipf por busca binária na distribuição acumulada: o item de posição k
+	 * (base 1) tem peso 1/k^s. Com s perto de 1 as 10% categorias mais populares ficam com
+	 * cerca de metade das associações.
+	 */
+	static class ZipfSampler {
+
+		private final double[] cumulative;
+
+		ZipfSampler(int size, double exponent) {
+			cumulative = new double[size];
+			double sum = 0;
+			for (int k = 0; k < size; k++) {
+				sum += 1.0 / Math.pow(k + 1, exponent);
+				cumulative[k] = sum;
+			}
+		}
+
+		int sample(Random random) {
+			double value = random.nextDouble() * cumulative[cumulative.length - 1];
+			int index = Arrays.binarySearch(cumulative, value);
+			return index >= 0 ? index : Math.min(-index - 1, cumulative.length - 1);
+		}
+	}
+
+}
@@ -0,0 +1,132 @@
+package com.bootcamp.dscatalog.services.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.bootcamp.dscatalog.dto.ProductDTO;
+import com.bootcamp.dscatalog.services.export.CsvProductExportWriter;
+
+/*
+ * CSV no mesmo layout da exportação (a coluna id é opcional e ignorada).
+ * Campos entre aspas podem conter vírgulas, aspas duplicadas e quebras de linha.
+ */
+public class CsvProductRowReader implements ProductRowReader {
+
+	private final BufferedReader reader;
+	private final Map<String, Integer> columns = new HashMap<>();
+	private long line;
+
+	public CsvProductRowReader(BufferedReader reader) throws IOException {
+		this.reader = reader;
+		List<String> header = readRecord();
+		if (header == null || !header.contains("name")) {
+			throw new ImportRowException(1, "Cabeçalho CSV inválido, esperado: " + CsvProductExportWriter.HEADER);
+		}
+		for (int i = 0; i < header.size(); i++) {
+			columns.put(header.get(i).trim(), i);
+		}
+	}
+
+	@Override
+	public ProductImportRow next() throws IOException {
+		List<String> record = readRecord();
+		while (record != null && record.size() == 1 && record.get(0).isBlank()) {
+			record = readRecord();
+		}
+		if (record == null) {
+			return null;
+		}
+
+		ProductDTO dto = new ProductDTO();
+		dto.setName(get(record, "name"));
+		dto.setDescription(get(record, "description"));
+		dto.setImgUrl(get(record, "imgUrl"));
+		try {
+			String price = get(record, "price");
+			dto.setPrice(price == null ? null : Double.valueOf(price));
+			String date = get(record, "date");
+			dto.setDate(date == null ? null : Instant.parse(date));
+		} catch (NumberFormatException | DateTimeParseException e) {
+			throw new ImportRowException(line, "Valor inválido: " + e.getMessage());
+		}
+
+		ProductImportRow row = new ProductImportRow(line, dto);
+		String categories = get(record, "categories");
+		if (categories != null) {
+			for (String category : categories.split(CsvProductExportWriter.CATEGORY_SEPARATOR)) {
+				if (!category.isBlank()) {
+					row.getCategories().add(category.trim());
+				}
+			}
+		}
+		return row;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	private String get(List<String> record, String column) {
+		Integer index = columns.get(column);
+		if (index == null || index >= record.size() || record.get(index).isEmpty()) {
+			return null;
+		}
+		return record.get(index);
+	}
+
+	private List<String> readRecord() throws IOException {
+		int c = reader.read();
+		if (c < 0) {
+			return null;
+		}
+		line++;
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		while (c >= 0) {
+			char ch = (char) c;
+			if (quoted) {
+				if (ch == '"') {
+					reader.mark(1);
+					int next = reader.read();
+					if (next == '"') {
+						field.append('"');
+					} else {
+						quoted = false;
+						if (next >= 0) {
+							reader.reset();
+						}
+					}
+				} else {
+					if (ch == '\n') {
+						line++;
+					}
+					field.append(ch);
+				}
+			} else if (ch == '"') {
+				quoted = true;
+			} else if (ch == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else if (ch == '\n') {
+				break;
+			} else if (ch != '\r') {
+				field.append(ch);
+			}
+			c = reader.read();
+		}
+		if (quoted) {
+			throw new ImportRowException(line, "Aspas não fechadas");
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+
+}
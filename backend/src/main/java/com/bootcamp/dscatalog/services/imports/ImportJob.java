@@ -0,0 +1,136 @@
+package com.bootcamp.dscatalog.services.imports;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.bootcamp.dscatalog.dto.ImportErrorDTO;
+import com.bootcamp.dscatalog.services.export.ExportFormat;
+
+/*
+ * Estado de uma importação em andamento. É atualizado pela thread do job e lido pelo
+ * endpoint de progresso, por isso os contadores são atômicos e a lista de erros sincronizada.
+ */
+public class ImportJob {
+
+	public static final String RUNNING = "RUNNING";
+	public static final String COMPLETED = "COMPLETED";
+	public static final String FAILED = "FAILED";
+
+	// Só os primeiros erros são guardados; o total fica em rejected.
+	static final int MAX_ERRORS = 100;
+
+	private final Long id;
+	private final String path;
+	private final ExportFormat format;
+	private final String mode;
+	private final Instant startedAt = Instant.now();
+	private final AtomicLong read = new AtomicLong();
+	private final AtomicLong imported = new AtomicLong();
+	private final AtomicLong rejected = new AtomicLong();
+	private final List<ImportErrorDTO> errors = new ArrayList<>();
+	private volatile String status = RUNNING;
+	private volatile String message;
+	private volatile Instant finishedAt;
+
+	public ImportJob(Long id, String path, ExportFormat format, String mode) {
+		this.id = id;
+		this.path = path;
+		this.format = format;
+		this.mode = mode;
+	}
+
+	public void rowRead() {
+		read.incrementAndGet();
+	}
+
+	public void imported(int count) {
+		imported.addAndGet(count);
+	}
+
+	public void reject(long line, String fieldName, String message) {
+		rejectRow(List.of(new ImportErrorDTO(line, fieldName, message)));
+	}
+
+	// Uma linha rejeitada conta uma vez em rejected, com quantos erros tiver (read = imported + rejected).
+	public void rejectRow(List<ImportErrorDTO> rowErrors) {
+		rejected.incrementAndGet();
+		synchronized (errors) {
+			for (ImportErrorDTO error : rowErrors) {
+				if (errors.size() < MAX_ERRORS) {
+					errors.add(error);
+				}
+			}
+		}
+	}
+
+	public void complete() {
+		finish(COMPLETED, null);
+	}
+
+	public void fail(String message) {
+		finish(FAILED, message);
+	}
+
+	public boolean isFinished() {
+		return finishedAt != null;
+	}
+
+	private void finish(String status, String message) {
+		this.message = message;
+		this.finishedAt = Instant.now();
+		this.status = status;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	public ExportFormat getFormat() {
+		return format;
+	}
+
+	public String getMode() {
+		return mode;
+	}
+
+	public Instant getStartedAt() {
+		return startedAt;
+	}
+
+	public Instant getFinishedAt() {
+		return finishedAt;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public long getRead() {
+		return read.get();
+	}
+
+	public long getImported() {
+		return imported.get();
+	}
+
+	public long getRejected() {
+		return rejected.get();
+	}
+
+	public List<ImportErrorDTO> getErrors() {
+		synchronized (errors) {
+			return new ArrayList<>(errors);
+		}
+	}
+
+}
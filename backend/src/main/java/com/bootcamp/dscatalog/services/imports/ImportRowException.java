@@ -0,0 +1,18 @@
+package com.bootcamp.dscatalog.services.imports;
+
+public class ImportRowException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final long line;
+
+	public ImportRowException(long line, String msg) {
+		super(msg);
+		this.line = line;
+	}
+
+	public long getLine() {
+		return line;
+	}
+
+}
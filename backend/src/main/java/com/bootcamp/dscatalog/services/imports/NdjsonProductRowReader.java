@@ -0,0 +1,69 @@
+package com.bootcamp.dscatalog.services.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+import com.bootcamp.dscatalog.dto.ProductDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * Um objeto JSON por linha, no mesmo layout da exportação. Em "categories" cada item
+ * pode ser o id (número) ou o nome da categoria (texto).
+ */
+public class NdjsonProductRowReader implements ProductRowReader {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private final BufferedReader reader;
+	private long line;
+
+	public NdjsonProductRowReader(BufferedReader reader) {
+		this.reader = reader;
+	}
+
+	@Override
+	public ProductImportRow next() throws IOException {
+		String text = reader.readLine();
+		line++;
+		while (text != null && text.isBlank()) {
+			text = reader.readLine();
+			line++;
+		}
+		if (text == null) {
+			return null;
+		}
+
+		try {
+			JsonNode node = MAPPER.readTree(text);
+			ProductDTO dto = new ProductDTO();
+			dto.setName(text(node, "name"));
+			dto.setDescription(text(node, "description"));
+			dto.setImgUrl(text(node, "imgUrl"));
+			dto.setPrice(node.hasNonNull("price") ? node.get("price").asDouble() : null);
+			String date = text(node, "date");
+			dto.setDate(date == null ? null : Instant.parse(date));
+
+			ProductImportRow row = new ProductImportRow(line, dto);
+			if (node.has("categories")) {
+				node.get("categories").forEach(category -> row.getCategories().add(category.asText()));
+			}
+			return row;
+		} catch (JsonProcessingException | DateTimeParseException e) {
+			throw new ImportRowException(line, "JSON inválido: " + e.getMessage());
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	private static String text(JsonNode node, String field) {
+		return node.hasNonNull(field) ? node.get(field).asText() : null;
+	}
+
+}
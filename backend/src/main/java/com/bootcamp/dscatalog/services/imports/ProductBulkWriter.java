@@ -0,0 +1,191 @@
+package com.bootcamp.dscatalog.services.imports;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bootcamp.dscatalog.entities.Category;
+import com.bootcamp.dscatalog.entities.Product;
+import com.bootcamp.dscatalog.services.ProductCountService;
+import com.bootcamp.dscatalog.services.exceptions.DataBaseException;
+import com.bootcamp.dscatalog.services.search.ProductSearchIndex;
+
+/*
+ * Grava lotes grandes de produtos fora do contexto de persistência, um lote por transação.
+ * Os ids saem da mesma sequence do Hibernate em blocos de ALLOCATION_SIZE (pooled-lo), então
+ * convivem com os inserts feitos pelo JPA. No PostgreSQL usa COPY; nos demais bancos, batch JDBC.
+ */
+@Component
+public class ProductBulkWriter {
+
+	public static final String MODE_COPY = "COPY";
+	public static final String MODE_BATCH = "BATCH";
+
+	private static final String SEQUENCE = "tb_product_seq";
+	private static final int ALLOCATION_SIZE = 50;
+
+	private static final String INSERT_PRODUCT = "INSERT INTO tb_product (id, name, description, price, img_url, date, created_at) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?)";
+	private static final String INSERT_PRODUCT_CATEGORY = "INSERT INTO tb_product_category (product_id, category_id) VALUES (?, ?)";
+	private static final String COPY_PRODUCT = "COPY tb_product (id, name, description, price, img_url, date, created_at) "
+			+ "FROM STDIN WITH (FORMAT csv)";
+	private static final String COPY_PRODUCT_CATEGORY = "COPY tb_product_category (product_id, category_id) FROM STDIN WITH (FORMAT csv)";
+
+	private final DataSource dataSource;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final ProductSearchIndex searchIndex;
+	private final ProductCountService countService;
+	private final String nextValSql;
+
+	private volatile String mode;
+
+	@Autowired
+	public ProductBulkWriter(DataSource dataSource, EntityManagerFactory entityManagerFactory,
+			PlatformTransactionManager transactionManager, ProductSearchIndex searchIndex, ProductCountService countService) {
+		this.dataSource = dataSource;
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.searchIndex = searchIndex;
+		this.countService = countService;
+		Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+		this.nextValSql = dialect.getSequenceNextValString(SEQUENCE);
+	}
+
+	public String mode() {
+		if (mode == null) {
+			try (Connection connection = dataSource.getConnection()) {
+				mode = connection.isWrapperFor(PGConnection.class) ? MODE_COPY : MODE_BATCH;
+			} catch (SQLException e) {
+				throw new DataBaseException(e.getMessage());
+			}
+		}
+		return mode;
+	}
+
+	// Atribui os ids e grava os produtos com suas categorias numa única transação.
+	public void write(List<Product> products) {
+		if (products.isEmpty()) {
+			return;
+		}
+		transactionTemplate.executeWithoutResult(status -> {
+			assignIds(products);
+			if (MODE_COPY.equals(mode())) {
+				copy(products);
+			} else {
+				batchInsert(products);
+			}
+			searchIndex.add(products);
+			// Dentro da transação: o cache transacional só descarta os totais no commit.
+			countService.invalidate();
+		});
+	}
+
+	private void assignIds(List<Product> products) {
+		long next = 0;
+		long limit = 0;
+		for (Product product : products) {
+			if (next == limit) {
+				next = jdbcTemplate.queryForObject(nextValSql, Long.class);
+				limit = next + ALLOCATION_SIZE;
+			}
+			product.setId(next++);
+		}
+	}
+
+	private void batchInsert(List<Product> products) {
+		Timestamp now = Timestamp.from(Instant.now());
+		jdbcTemplate.batchUpdate(INSERT_PRODUCT, products, ALLOCATION_SIZE, (ps, product) -> {
+			ps.setLong(1, product.getId());
+			ps.setString(2, product.getName());
+			ps.setString(3, product.getDescription());
+			if (product.getPrice() == null) {
+				ps.setNull(4, Types.DOUBLE);
+			} else {
+				ps.setDouble(4, product.getPrice());
+			}
+			ps.setString(5, product.getImgUrl());
+			ps.setTimestamp(6, product.getDate() == null ? null : Timestamp.from(product.getDate()));
+			ps.setTimestamp(7, now);
+		});
+
+		List<Long[]> links = new ArrayList<>();
+		for (Product product : products) {
+			for (Category category : product.getCategories()) {
+				links.add(new Long[] { product.getId(), category.getId() });
+			}
+		}
+		jdbcTemplate.batchUpdate(INSERT_PRODUCT_CATEGORY, links, ALLOCATION_SIZE, (ps, link) -> {
+			ps.setLong(1, link[0]);
+			ps.setLong(2, link[1]);
+		});
+	}
+
+	private void copy(List<Product> products) {
+		String now = toTimestamp(Instant.now());
+		StringBuilder productRows = new StringBuilder(products.size() * 128);
+		StringBuilder categoryRows = new StringBuilder();
+		for (Product product : products) {
+			productRows.append(product.getId()).append(',')
+					.append(csv(product.getName())).append(',')
+					.append(csv(product.getDescription())).append(',')
+					.append(product.getPrice() == null ? "" : product.getPrice()).append(',')
+					.append(csv(product.getImgUrl())).append(',')
+					.append(product.getDate() == null ? "" : toTimestamp(product.getDate())).append(',')
+					.append(now).append('\n');
+			for (Category category : product.getCategories()) {
+				categoryRows.append(product.getId()).append(',').append(category.getId()).append('\n');
+			}
+		}
+
+		// A conexão é a mesma da transação corrente, então o COPY participa do commit/rollback.
+		Connection connection = DataSourceUtils.getConnection(dataSource);
+		try {
+			CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+			copyManager.copyIn(COPY_PRODUCT, new StringReader(productRows.toString()));
+			if (categoryRows.length() > 0) {
+				copyManager.copyIn(COPY_PRODUCT_CATEGORY, new StringReader(categoryRows.toString()));
+			}
+		} catch (SQLException | IOException e) {
+			throw new DataBaseException(e.getMessage());
+		} finally {
+			DataSourceUtils.releaseConnection(connection, dataSource);
+		}
+	}
+
+	// Mesma conversão do Hibernate para colunas TIMESTAMP WITHOUT TIME ZONE: fuso padrão da JVM.
+	private static String toTimestamp(Instant instant) {
+		return LocalDateTime.ofInstant(instant, ZoneId.systemDefault()).toString();
+	}
+
+	// No formato csv do COPY, campo vazio sem aspas é NULL e "" é texto vazio.
+	private static String csv(String value) {
+		if (value == null) {
+			return "";
+		}
+		return "\"" + value.replace("\"", "\"\"") + "\"";
+	}
+
+}
@@ -0,0 +1,35 @@
+package com.bootcamp.dscatalog.services.imports;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.bootcamp.dscatalog.dto.ProductDTO;
+
+/*
+ * Uma linha lida do arquivo: os dados do produto e as categorias ainda não resolvidas
+ * (cada valor pode ser o id ou o nome da categoria).
+ */
+public class ProductImportRow {
+
+	private final long line;
+	private final ProductDTO product;
+	private final List<String> categories = new ArrayList<>();
+
+	public ProductImportRow(long line, ProductDTO product) {
+		this.line = line;
+		this.product = product;
+	}
+
+	public long getLine() {
+		return line;
+	}
+
+	public ProductDTO getProduct() {
+		return product;
+	}
+
+	public List<String> getCategories() {
+		return categories;
+	}
+
+}
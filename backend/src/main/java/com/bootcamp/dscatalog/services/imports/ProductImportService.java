@@ -0,0 +1,201 @@
+package com.bootcamp.dscatalog.services.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PreDestroy;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.bootcamp.dscatalog.dto.ImportErrorDTO;
+import com.bootcamp.dscatalog.dto.ImportJobDTO;
+import com.bootcamp.dscatalog.dto.ImportRequestDTO;
+import com.bootcamp.dscatalog.dto.ProductDTO;
+import com.bootcamp.dscatalog.entities.Category;
+import com.bootcamp.dscatalog.entities.Product;
+import com.bootcamp.dscatalog.repositories.CategoryRepository;
+import com.bootcamp.dscatalog.services.exceptions.BadRequestException;
+import com.bootcamp.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.bootcamp.dscatalog.services.export.ExportFormat;
+
+/*
+ * Importa arquivos grandes de produtos do disco local: lê linha a linha, valida, resolve as
+ * categorias uma vez por valor distinto e grava em lotes de chunk-size pelo ProductBulkWriter.
+ * Os jobs rodam um por vez numa thread própria; o progresso fica consultável pelo id.
+ */
+@Service
+public class ProductImportService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ProductImportService.class);
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private ProductBulkWriter bulkWriter;
+
+	@Autowired
+	private Validator validator;
+
+	@Value("${dscatalog.import.base-dir}")
+	private String baseDir;
+
+	@Value("${dscatalog.import.chunk-size}")
+	private int chunkSize;
+
+	@Value("${dscatalog.import.max-jobs}")
+	private int maxJobs;
+
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "product-import");
+		thread.setDaemon(true);
+		return thread;
+	});
+	// Ordenado por id (ordem de início) para descartar primeiro os jobs terminados mais antigos.
+	private final NavigableMap<Long, ImportJob> jobs = new ConcurrentSkipListMap<>();
+	private final AtomicLong sequence = new AtomicLong();
+
+	public ImportJobDTO start(ImportRequestDTO request) {
+		ExportFormat format = ExportFormat.of(request.getFormat());
+		Path path = resolve(request.getPath());
+		ImportJob job = new ImportJob(sequence.incrementAndGet(), path.toString(), format, bulkWriter.mode());
+		jobs.put(job.getId(), job);
+		evictFinishedJobs();
+		executor.submit(() -> run(job, path));
+		return new ImportJobDTO(job);
+	}
+
+	public ImportJobDTO findById(Long id) {
+		ImportJob job = jobs.get(id);
+		if (job == null) {
+			throw new ResourceNotFoundException("Importação não encontrada");
+		}
+		return new ImportJobDTO(job);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	// Mantém no máximo max-jobs jobs; os que ainda estão rodando nunca são descartados.
+	private void evictFinishedJobs() {
+		Iterator<ImportJob> it = jobs.values().iterator();
+		while (jobs.size() > maxJobs && it.hasNext()) {
+			if (it.next().isFinished()) {
+				it.remove();
+			}
+		}
+	}
+
+	// Só aceita arquivos dentro do diretório configurado.
+	private Path resolve(String file) {
+		if (baseDir == null || baseDir.isBlank()) {
+			throw new BadRequestException("Importação por arquivo desabilitada (dscatalog.import.base-dir)");
+		}
+		Path base = Paths.get(baseDir).toAbsolutePath().normalize();
+		Path path = base.resolve(file).normalize();
+		if (!path.startsWith(base)) {
+			throw new BadRequestException("Arquivo fora do diretório de importação");
+		}
+		if (!Files.isRegularFile(path)) {
+			throw new BadRequestException("Arquivo não encontrado: " + file);
+		}
+		return path;
+	}
+
+	void run(ImportJob job, Path path) {
+		Map<String, Optional<Long>> categories = new HashMap<>();
+		List<Product> chunk = new ArrayList<>(chunkSize);
+		try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+				ProductRowReader reader = ProductRowReader.of(job.getFormat(), in)) {
+			while (true) {
+				ProductImportRow row;
+				try {
+					row = reader.next();
+				} catch (ImportRowException e) {
+					job.rowRead();
+					job.reject(e.getLine(), null, e.getMessage());
+					continue;
+				}
+				if (row == null) {
+					break;
+				}
+				job.rowRead();
+				Product product = toProduct(row, job, categories);
+				if (product != null) {
+					chunk.add(product);
+					if (chunk.size() >= chunkSize) {
+						flush(chunk, job);
+					}
+				}
+			}
+			flush(chunk, job);
+			job.complete();
+		} catch (IOException | RuntimeException e) {
+			LOG.error("Falha na importação {} de {}", job.getId(), path, e);
+			job.fail(e.getMessage());
+		}
+	}
+
+	private void flush(List<Product> chunk, ImportJob job) {
+		bulkWriter.write(chunk);
+		job.imported(chunk.size());
+		chunk.clear();
+	}
+
+	private Product toProduct(ProductImportRow row, ImportJob job, Map<String, Optional<Long>> categories) {
+		ProductDTO dto = row.getProduct();
+		List<ImportErrorDTO> errors = new ArrayList<>();
+		Set<ConstraintViolation<ProductDTO>> violations = validator.validate(dto);
+		violations.forEach(v -> errors.add(new ImportErrorDTO(row.getLine(), v.getPropertyPath().toString(), v.getMessage())));
+
+		Product product = new Product(null, dto.getName(), dto.getDescription(), dto.getPrice(), dto.getImgUrl(), dto.getDate());
+		for (String value : row.getCategories()) {
+			Optional<Long> categoryId = categories.computeIfAbsent(value, this::resolveCategory);
+			if (categoryId.isEmpty()) {
+				errors.add(new ImportErrorDTO(row.getLine(), "categories", "Categoria não encontrada: " + value));
+			} else {
+				product.getCategories().add(new Category(categoryId.get(), null));
+			}
+		}
+		if (!errors.isEmpty()) {
+			job.rejectRow(errors);
+			return null;
+		}
+		return product;
+	}
+
+	// Valor numérico é tratado como id; qualquer outro, como nome da categoria.
+	private Optional<Long> resolveCategory(String value) {
+		try {
+			Long id = Long.valueOf(value);
+			return categoryRepository.existsById(id) ? Optional.of(id) : Optional.empty();
+		} catch (NumberFormatException e) {
+			return categoryRepository.findFirstByName(value).map(Category::getId);
+		}
+	}
+
+}
@@ -0,0 +1,27 @@
+package com.bootcamp.dscatalog.services.imports;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+
+import com.bootcamp.dscatalog.services.export.ExportFormat;
+
+/*
+ * Lê o arquivo de importação de forma incremental, uma linha de produto por vez.
+ * Linhas malformadas lançam ImportRowException e a leitura pode continuar na seguinte.
+ */
+public interface ProductRowReader extends Closeable {
+
+	// Retorna null no fim do arquivo.
+	ProductImportRow next() throws IOException;
+
+	static ProductRowReader of(ExportFormat format, BufferedReader reader) throws IOException {
+		switch (format) {
+		case CSV:
+			return new CsvProductRowReader(reader);
+		default:
+			return new NdjsonProductRowReader(reader);
+		}
+	}
+
+}
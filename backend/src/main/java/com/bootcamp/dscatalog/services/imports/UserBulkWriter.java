@@ -0,0 +1,168 @@
+package com.bootcamp.dscatalog.services.imports;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bootcamp.dscatalog.entities.Role;
+import com.bootcamp.dscatalog.entities.User;
+import com.bootcamp.dscatalog.services.EmailBloomFilter;
+import com.bootcamp.dscatalog.services.exceptions.DataBaseException;
+
+/*
+ * Equivalente ao ProductBulkWriter para usuários já com a senha em hash: ids de tb_user_seq em
+ * blocos de ALLOCATION_SIZE (pooled-lo), COPY no PostgreSQL e batch JDBC nos demais bancos.
+ */
+@Component
+public class UserBulkWriter {
+
+	private static final String SEQUENCE = "tb_user_seq";
+	private static final int ALLOCATION_SIZE = 50;
+
+	private static final String INSERT_USER = "INSERT INTO tb_user (id, first_name, last_name, email, password, created_at) "
+			+ "VALUES (?, ?, ?, ?, ?, ?)";
+	private static final String INSERT_USER_ROLE = "INSERT INTO tb_user_role (user_id, role_id) VALUES (?, ?)";
+	private static final String COPY_USER = "COPY tb_user (id, first_name, last_name, email, password, created_at) "
+			+ "FROM STDIN WITH (FORMAT csv)";
+	private static final String COPY_USER_ROLE = "COPY tb_user_role (user_id, role_id) FROM STDIN WITH (FORMAT csv)";
+
+	private final DataSource dataSource;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final EmailBloomFilter emailFilter;
+	private final String nextValSql;
+
+	private volatile String mode;
+
+	@Autowired
+	public UserBulkWriter(DataSource dataSource, EntityManagerFactory entityManagerFactory,
+			PlatformTransactionManager transactionManager, EmailBloomFilter emailFilter) {
+		this.dataSource = dataSource;
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.emailFilter = emailFilter;
+		Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+		this.nextValSql = dialect.getSequenceNextValString(SEQUENCE);
+	}
+
+	public String mode() {
+		if (mode == null) {
+			try (Connection connection = dataSource.getConnection()) {
+				mode = connection.isWrapperFor(PGConnection.class) ? ProductBulkWriter.MODE_COPY : ProductBulkWriter.MODE_BATCH;
+			} catch (SQLException e) {
+				throw new DataBaseException(e.getMessage());
+			}
+		}
+		return mode;
+	}
+
+	// Atribui os ids e grava os usuários com seus roles numa única transação.
+	public void write(List<User> users) {
+		if (users.isEmpty()) {
+			return;
+		}
+		transactionTemplate.executeWithoutResult(status -> {
+			assignIds(users);
+			if (ProductBulkWriter.MODE_COPY.equals(mode())) {
+				copy(users);
+			} else {
+				batchInsert(users);
+			}
+		});
+		users.forEach(user -> emailFilter.put(user.getEmail()));
+	}
+
+	private void assignIds(List<User> users) {
+		long next = 0;
+		long limit = 0;
+		for (User user : users) {
+			if (next == limit) {
+				next = jdbcTemplate.queryForObject(nextValSql, Long.class);
+				limit = next + ALLOCATION_SIZE;
+			}
+			user.setId(next++);
+		}
+	}
+
+	private void batchInsert(List<User> users) {
+		Timestamp now = Timestamp.from(Instant.now());
+		jdbcTemplate.batchUpdate(INSERT_USER, users, ALLOCATION_SIZE, (ps, user) -> {
+			ps.setLong(1, user.getId());
+			ps.setString(2, user.getFirstName());
+			ps.setString(3, user.getLastName());
+			ps.setString(4, user.getEmail());
+			ps.setString(5, user.getPassword());
+			ps.setTimestamp(6, now);
+		});
+
+		List<Long[]> links = new ArrayList<>();
+		for (User user : users) {
+			for (Role role : user.getRoles()) {
+				links.add(new Long[] { user.getId(), role.getId() });
+			}
+		}
+		jdbcTemplate.batchUpdate(INSERT_USER_ROLE, links, ALLOCATION_SIZE, (ps, link) -> {
+			ps.setLong(1, link[0]);
+			ps.setLong(2, link[1]);
+		});
+	}
+
+	private void copy(List<User> users) {
+		String now = LocalDateTime.ofInstant(Instant.now(), ZoneId.systemDefault()).toString();
+		StringBuilder userRows = new StringBuilder(users.size() * 128);
+		StringBuilder roleRows = new StringBuilder();
+		for (User user : users) {
+			userRows.append(user.getId()).append(',')
+					.append(csv(user.getFirstName())).append(',')
+					.append(csv(user.getLastName())).append(',')
+					.append(csv(user.getEmail())).append(',')
+					.append(csv(user.getPassword())).append(',')
+					.append(now).append('\n');
+			for (Role role : user.getRoles()) {
+				roleRows.append(user.getId()).append(',').append(role.getId()).append('\n');
+			}
+		}
+
+		Connection connection = DataSourceUtils.getConnection(dataSource);
+		try {
+			CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+			copyManager.copyIn(COPY_USER, new StringReader(userRows.toString()));
+			if (roleRows.length() > 0) {
+				copyManager.copyIn(COPY_USER_ROLE, new StringReader(roleRows.toString()));
+			}
+		} catch (SQLException | IOException e) {
+			throw new DataBaseException(e.getMessage());
+		} finally {
+			DataSourceUtils.releaseConnection(connection, dataSource);
+		}
+	}
+
+	private static String csv(String value) {
+		if (value == null) {
+			return "";
+		}
+		return "\"" + value.replace("\"", "\"\"") + "\"";
+	}
+
+}
@@ -0,0 +1,77 @@
+package com.bootcamp.dscatalog.services.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import com.bootcamp.dscatalog.services.exceptions.BadRequestException;
+
+/*
+ * Token opaco de continuação para paginação por keyset: guarda a chave de ordenação
+ * e o id do último item entregue, que servem de desempate na próxima busca.
+ */
+public class Cursor {
+
+	public static final int MAX_SIZE = 2000;
+
+	private final String sort;
+	private final String key;
+	private final Long id;
+
+	public Cursor(String sort, String key, Long id) {
+		this.sort = sort;
+		this.key = key == null ? "" : key;
+		this.id = id;
+	}
+
+	public String getSort() {
+		return sort;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String encode() {
+		String raw = sort + ":" + id + ":" + key;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static Cursor decode(String token, String expectedSort) {
+		if (token == null || token.isBlank()) {
+			return null;
+		}
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			String[] parts = raw.split(":", 3);
+			if (parts.length != 3 || !parts[0].equals(expectedSort)) {
+				throw new BadRequestException("Cursor inválido para a ordenação " + expectedSort);
+			}
+			return new Cursor(parts[0], parts[2], Long.parseLong(parts[1]));
+		} catch (IllegalArgumentException e) {
+			throw new BadRequestException("Cursor inválido");
+		}
+	}
+
+	public static void requireSort(String sort, String... allowed) {
+		if (!Arrays.asList(allowed).contains(sort)) {
+			throw new BadRequestException("Ordenação não suportada: " + sort);
+		}
+	}
+
+	// Busca um item a mais para saber se existe próxima página sem precisar de COUNT.
+	public static Pageable limit(int size) {
+		if (size < 1 || size > MAX_SIZE) {
+			throw new BadRequestException("Tamanho da página deve estar entre 1 e " + MAX_SIZE);
+		}
+		return PageRequest.of(0, size + 1);
+	}
+
+}
@@ -0,0 +1,34 @@
+package com.bootcamp.dscatalog.services.pagination;
+
+import java.io.Serializable;
+
+// Total de uma listagem e se ele veio de um COUNT (exato) ou das estatísticas do banco (estimado).
+public class TotalCount implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final long total;
+	private final boolean exact;
+
+	private TotalCount(long total, boolean exact) {
+		this.total = total;
+		this.exact = exact;
+	}
+
+	public static TotalCount exact(long total) {
+		return new TotalCount(total, true);
+	}
+
+	public static TotalCount estimated(long total) {
+		return new TotalCount(total, false);
+	}
+
+	public long getTotal() {
+		return total;
+	}
+
+	public boolean isExact() {
+		return exact;
+	}
+
+}
@@ -0,0 +1,325 @@
+package com.bootcamp.dscatalog.services.search;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.similarities.BM25Similarity;
+import org.apache.lucene.store.MMapDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.FileSystemUtils;
+
+import com.bootcamp.dscatalog.entities.Product;
+import com.bootcamp.dscatalog.repositories.ProductRepository;
+
+/*
+ * Índice invertido local de nome e descrição dos produtos, ranqueado com BM25.
+ * Os segmentos ficam em disco e são lidos via MMapDirectory, então a busca não
+ * depende de LIKE no banco. Alterações são aplicadas após o commit da transação.
+ * A reconstrução não apaga o índice: regrava cada produto com updateDocument marcando uma
+ * nova geração e só no fim remove os documentos da geração anterior, então as buscas nunca
+ * veem um índice vazio ou pela metade. Cada bloco lido do banco é gravado sob o mesmo lock
+ * das alterações pós-commit, que assim nunca são sobrescritas por uma leitura mais antiga.
+ * As alterações só vão para o disco no commit periódico e no fechamento; o fechamento deixa
+ * um marcador, e sem ele (queda do processo) o índice em disco é reconstruído na subida.
+ */
+@Component
+public class ProductSearchIndex {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+	private static final String ID = "id";
+	private static final String NAME = "name";
+	private static final String DESCRIPTION = "description";
+	private static final String GENERATION = "generation";
+	private static final float NAME_BOOST = 2.0f;
+	private static final int REBUILD_BATCH = 500;
+	private static final String CLEAN_SHUTDOWN = "clean-shutdown";
+
+	private final ProductRepository repository;
+	private final Analyzer analyzer = new StandardAnalyzer();
+
+	@Value("${dscatalog.search.index-dir:}")
+	private String indexDir;
+
+	@Value("${dscatalog.search.rebuild-on-startup:false}")
+	private boolean rebuildOnStartup;
+
+	private final Object lock = new Object();
+	private final Object rebuildLock = new Object();
+
+	private Path path;
+	private boolean temporary;
+	private boolean uncleanShutdown;
+	private MMapDirectory directory;
+	private IndexWriter writer;
+	private SearcherManager searcherManager;
+	private String generation = newGeneration();
+
+	public ProductSearchIndex(ProductRepository repository) {
+		this.repository = repository;
+	}
+
+	@PostConstruct
+	public void open() throws IOException {
+		temporary = indexDir.isBlank();
+		path = temporary ? Files.createTempDirectory("dscatalog-index") : Paths.get(indexDir);
+		Files.createDirectories(path);
+		Path marker = path.resolve(CLEAN_SHUTDOWN);
+		uncleanShutdown = !temporary && !Files.exists(marker);
+		Files.deleteIfExists(marker);
+		directory = new MMapDirectory(path);
+
+		IndexWriterConfig config = new IndexWriterConfig(analyzer);
+		config.setSimilarity(new BM25Similarity());
+		config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+		writer = new IndexWriter(directory, config);
+		searcherManager = new SearcherManager(writer, null);
+		LOG.info("Índice de busca de produtos aberto em {}", path);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuildIfNeeded() {
+		int numDocs = writer.getDocStats().numDocs;
+		if (uncleanShutdown && numDocs > 0) {
+			LOG.warn("Índice de busca não foi fechado corretamente (alterações não gravadas podem ter se perdido), reconstruindo");
+		}
+		if (rebuildOnStartup || uncleanShutdown || numDocs == 0) {
+			rebuild();
+		}
+	}
+
+	public void index(Product product) {
+		Document doc = toDocument(product);
+		Term id = new Term(ID, String.valueOf(product.getId()));
+		afterCommit(() -> {
+			writer.updateDocument(id, stamp(doc));
+			searcherManager.maybeRefresh();
+		});
+	}
+
+	public void index(List<Product> products) {
+		List<Document> docs = new ArrayList<>();
+		products.forEach(product -> docs.add(toDocument(product)));
+		afterCommit(() -> {
+			for (Document doc : docs) {
+				writer.updateDocument(new Term(ID, doc.get(ID)), stamp(doc));
+			}
+			searcherManager.maybeRefresh();
+		});
+	}
+
+	// Produtos recém-inseridos (ids novos da sequence): addDocuments dispensa a exclusão por termo do updateDocument.
+	public void add(List<Product> products) {
+		List<Document> docs = new ArrayList<>();
+		products.forEach(product -> docs.add(toDocument(product)));
+		afterCommit(() -> {
+			docs.forEach(this::stamp);
+			writer.addDocuments(docs);
+			searcherManager.maybeRefresh();
+		});
+	}
+
+	public void remove(Long productId) {
+		Term id = new Term(ID, String.valueOf(productId));
+		afterCommit(() -> {
+			writer.deleteDocuments(id);
+			searcherManager.maybeRefresh();
+		});
+	}
+
+	public long rebuild() {
+		synchronized (rebuildLock) {
+			try {
+				String previous;
+				synchronized (lock) {
+					previous = generation;
+					generation = newGeneration();
+				}
+				long count = 0;
+				Pageable limit = PageRequest.of(0, REBUILD_BATCH);
+				Long lastId = null;
+				while (true) {
+					List<Product> batch;
+					synchronized (lock) {
+						batch = lastId == null ? repository.findAllByOrderByIdAsc(limit)
+								: repository.findByIdGreaterThanOrderByIdAsc(lastId, limit);
+						for (Product product : batch) {
+							writer.updateDocument(new Term(ID, String.valueOf(product.getId())), stamp(toDocument(product)));
+						}
+					}
+					if (batch.isEmpty()) {
+						break;
+					}
+					count += batch.size();
+					lastId = batch.get(batch.size() - 1).getId();
+				}
+				synchronized (lock) {
+					// Sobraram da geração anterior só produtos que não existem mais no banco.
+					writer.deleteDocuments(new TermQuery(new Term(GENERATION, previous)));
+					writer.commit();
+					searcherManager.maybeRefresh();
+				}
+				LOG.info("Índice de busca de produtos reconstruído com {} documentos", count);
+				return count;
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	public Page<Long> search(String text, Pageable pageable) {
+		BooleanQuery.Builder query = new BooleanQuery.Builder();
+		List<String> terms = analyze(text);
+		if (terms.isEmpty()) {
+			return Page.empty(pageable);
+		}
+		for (String term : terms) {
+			query.add(new BoostQuery(new TermQuery(new Term(NAME, term)), NAME_BOOST), BooleanClause.Occur.SHOULD);
+			query.add(new TermQuery(new Term(DESCRIPTION, term)), BooleanClause.Occur.SHOULD);
+		}
+
+		try {
+			IndexSearcher searcher = searcherManager.acquire();
+			try {
+				searcher.setSimilarity(new BM25Similarity());
+				int offset = (int) pageable.getOffset();
+				TopDocs top = searcher.search(query.build(), offset + pageable.getPageSize());
+				List<Long> ids = new ArrayList<>();
+				ScoreDoc[] hits = top.scoreDocs;
+				for (int i = offset; i < hits.length; i++) {
+					ids.add(Long.parseLong(searcher.doc(hits[i].doc).get(ID)));
+				}
+				return new PageImpl<>(ids, pageable, top.totalHits.value);
+			} finally {
+				searcherManager.release(searcher);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${dscatalog.search.commit-interval-ms:30000}")
+	public void commit() throws IOException {
+		if (writer.hasUncommittedChanges()) {
+			writer.commit();
+		}
+	}
+
+	@PreDestroy
+	public void close() throws IOException {
+		searcherManager.close();
+		// close() grava as alterações pendentes; só então o índice em disco está completo.
+		writer.close();
+		directory.close();
+		if (temporary) {
+			FileSystemUtils.deleteRecursively(path);
+		} else {
+			Files.createFile(path.resolve(CLEAN_SHUTDOWN));
+		}
+	}
+
+	private Document toDocument(Product product) {
+		Document doc = new Document();
+		doc.add(new StringField(ID, String.valueOf(product.getId()), Field.Store.YES));
+		doc.add(new TextField(NAME, nullToEmpty(product.getName()), Field.Store.NO));
+		doc.add(new TextField(DESCRIPTION, nullToEmpty(product.getDescription()), Field.Store.NO));
+		return doc;
+	}
+
+	// A geração é lida sob o lock, no momento da gravação, para nenhuma alteração escapar da troca de geração.
+	private Document stamp(Document doc) {
+		doc.add(new StringField(GENERATION, generation, Field.Store.NO));
+		return doc;
+	}
+
+	private List<String> analyze(String text) {
+		List<String> terms = new ArrayList<>();
+		try (TokenStream stream = analyzer.tokenStream(NAME, nullToEmpty(text))) {
+			CharTermAttribute attr = stream.addAttribute(CharTermAttribute.class);
+			stream.reset();
+			while (stream.incrementToken()) {
+				terms.add(attr.toString());
+			}
+			stream.end();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return terms;
+	}
+
+	private void afterCommit(IndexAction action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					run(action);
+				}
+			});
+		} else {
+			run(action);
+		}
+	}
+
+	private void run(IndexAction action) {
+		try {
+			synchronized (lock) {
+				action.run();
+			}
+		} catch (IOException e) {
+			LOG.error("Falha ao atualizar o índice de busca de produtos", e);
+		}
+	}
+
+	private static String newGeneration() {
+		return Long.toString(System.nanoTime(), 36);
+	}
+
+	private static String nullToEmpty(String value) {
+		return value == null ? "" : value;
+	}
+
+	@FunctionalInterface
+	private interface IndexAction {
+		void run() throws IOException;
+	}
+
+}
@@ -9,9 +9,9 @@ import javax.validation.ConstraintValidatorContext;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.bootcamp.dscatalog.dto.UserInsertDTO;
-import com.bootcamp.dscatalog.entities.User;
 import com.bootcamp.dscatalog.repositories.UserRepository;
 import com.bootcamp.dscatalog.resources.exceptions.FieldMessage;
+import com.bootcamp.dscatalog.services.EmailBloomFilter;
 
 
 public class UserInsertValidator implements ConstraintValidator<UserInsertValid, UserInsertDTO> {
@@ -19,6 +19,9 @@ public class UserInsertValidator implements ConstraintValidator<UserInsertValid,
 	@Autowired
 	private UserRepository repository;
 	
+	@Autowired
+	private EmailBloomFilter emailFilter;
+	
 	@Override
 	public void initialize(UserInsertValid ann) {
 	}
@@ -29,8 +32,8 @@ public class UserInsertValidator implements ConstraintValidator<UserInsertValid,
 		List<FieldMessage> list = new ArrayList<>();
 		
 		// Coloque aqui seus testes de validação, acrescentando objetos FieldMessage à lista
-		User user = repository.findByEmail(dto.getEmail());
-		if (user != null) {
+		// O filtro descarta sem ir ao banco a maioria dos emails novos.
+		if (emailFilter.mightContain(dto.getEmail()) && repository.existsByEmail(dto.getEmail())) {
 			list.add(new FieldMessage("email", "Email já existe!!"));
 		}
 		
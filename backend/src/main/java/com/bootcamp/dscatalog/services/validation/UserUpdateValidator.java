@@ -12,9 +12,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.servlet.HandlerMapping;
 
 import com.bootcamp.dscatalog.dto.UserUpdateDTO;
-import com.bootcamp.dscatalog.entities.User;
 import com.bootcamp.dscatalog.repositories.UserRepository;
 import com.bootcamp.dscatalog.resources.exceptions.FieldMessage;
+import com.bootcamp.dscatalog.services.EmailBloomFilter;
 
 
 public class UserUpdateValidator implements ConstraintValidator<UserUpdateValid, UserUpdateDTO> {
@@ -25,6 +25,9 @@ public class UserUpdateValidator implements ConstraintValidator<UserUpdateValid,
 	@Autowired
 	private UserRepository repository;
 	
+	@Autowired
+	private EmailBloomFilter emailFilter;
+	
 	@Override
 	public void initialize(UserUpdateValid ann) {
 	}
@@ -39,8 +42,8 @@ public class UserUpdateValidator implements ConstraintValidator<UserUpdateValid,
 		List<FieldMessage> list = new ArrayList<>();
 		
 		// Coloque aqui seus testes de validação, acrescentando objetos FieldMessage à lista
-		User user = repository.findByEmail(dto.getEmail());
-		if (user != null && userId != user.getId()) {
+		if (emailFilter.mightContain(dto.getEmail())
+				&& repository.findIdByEmail(dto.getEmail()).filter(id -> id != userId).isPresent()) {
 			list.add(new FieldMessage("email", "Email já existe!!"));
 		}
 		
@@ -0,0 +1,18 @@
+package com.bootcamp.dscatalog.config;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class AppConfigTest {
+
+	@Test
+	public void calibrateStrengthShouldReturnMinimumWhenTargetIsBelowOneHash() {
+		Assertions.assertEquals(4, AppConfig.calibrateStrength(0, 4, 12));
+	}
+
+	@Test
+	public void calibrateStrengthShouldNotExceedMaximum() {
+		Assertions.assertEquals(6, AppConfig.calibrateStrength(60_000, 4, 6));
+	}
+
+}
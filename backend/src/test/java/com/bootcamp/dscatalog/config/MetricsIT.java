@@ -0,0 +1,44 @@
+package com.bootcamp.dscatalog.config;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+// Banco próprio: @AutoConfigureMetrics cria outro contexto, que recriaria o testdb dos demais testes.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metricsdb")
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+public class MetricsIT {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	public void prometheusEndpointShouldExposeServiceHttpPoolAndHibernateMetrics() throws Exception {
+		mockMvc.perform(get("/products?page=0&size=12").accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+		mockMvc.perform(get("/products/{id}", 1000L).accept(MediaType.APPLICATION_JSON)).andExpect(status().isNotFound());
+
+		String body = mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+
+		Assertions.assertTrue(body.contains("dscatalog_service_seconds_bucket{"));
+		Assertions.assertTrue(body.matches("(?s).*dscatalog_service_seconds_count\\{[^}]*class=\"ProductService\"[^}]*method=\"findAllPaged\".*"));
+		Assertions.assertTrue(body.matches("(?s).*dscatalog_service_seconds_count\\{[^}]*exception=\"ResourceNotFoundException\"[^}]*method=\"findVersion\".*"));
+		Assertions.assertTrue(body.contains("http_server_requests_seconds_bucket{"));
+		Assertions.assertTrue(body.contains("hikaricp_connections_pending"));
+		Assertions.assertTrue(body.contains("hibernate_query_executions_total"));
+		Assertions.assertTrue(body.contains("hibernate_second_level_cache_requests_total"));
+		Assertions.assertTrue(body.contains("jvm_gc_"));
+		Assertions.assertTrue(body.contains("dscatalog_password_queue_size"));
+	}
+
+}
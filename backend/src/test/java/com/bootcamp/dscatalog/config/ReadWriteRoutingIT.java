@@ -0,0 +1,130 @@
+package com.bootcamp.dscatalog.config;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.bootcamp.dscatalog.dto.ProductDTO;
+import com.bootcamp.dscatalog.services.ProductService;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * Primária e réplica são dois bancos H2 em memória; a réplica recebe uma cópia da primária antes
+ * de cada teste e depois diverge dela, o que mostra para qual banco cada transação foi.
+ * Sem cache de segundo nível: a leitura tem que chegar ao banco (e o CacheManager JCache é único na JVM).
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:routingprimary",
+		"spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+		"spring.jpa.properties.hibernate.cache.use_query_cache=false",
+		"dscatalog.datasource.routing.enabled=true",
+		"dscatalog.datasource.routing.check-interval-ms=3600000",
+		"dscatalog.datasource.routing.max-lag-ms=1000",
+		"dscatalog.datasource.routing.lag-query=SELECT COALESCE(MAX(lag_ms), 0) FROM replica_lag",
+		"dscatalog.datasource.routing.replicas[0].url=" + ReadWriteRoutingIT.REPLICA_URL,
+		"dscatalog.datasource.routing.replicas[0].username=sa",
+		"dscatalog.datasource.routing.replicas[0].maximum-pool-size=2" })
+public class ReadWriteRoutingIT {
+
+	// Réplica vazia começa "atrasada" e fica fora da rotação até receber a cópia no setUp.
+	static final String REPLICA_URL = "jdbc:h2:mem:routingreplica;DB_CLOSE_DELAY=-1;"
+			+ "INIT=CREATE TABLE IF NOT EXISTS replica_lag AS SELECT CAST(60000 AS BIGINT) lag_ms";
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	private ReadWriteRoutingDataSource routingDataSource;
+	private JdbcTemplate primary;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		routingDataSource = dataSource.unwrap(ReadWriteRoutingDataSource.class);
+		primary = new JdbcTemplate(routingDataSource.unwrap(HikariDataSource.class));
+		List<String> script = primary.queryForList("SCRIPT", String.class);
+		List<String> statements = new ArrayList<>(script);
+		statements.add(0, "DROP ALL OBJECTS");
+		statements.add("CREATE TABLE replica_lag (lag_ms BIGINT)");
+		statements.add("UPDATE tb_product SET name = 'Na réplica' WHERE id = 1");
+		replica(statements.toArray(new String[0]));
+		routingDataSource.checkReplicas();
+	}
+
+	@Test
+	public void readOnlyTransactionShouldReadFromReplica() {
+		double before = routed("replica-0", "read");
+
+		Assertions.assertEquals("Na réplica", productService.findById(1L).getName());
+		Assertions.assertEquals(before + 1, routed("replica-0", "read"));
+	}
+
+	@Test
+	public void writeTransactionShouldGoToPrimary() throws SQLException {
+		ProductDTO dto = productService.findById(1L);
+		dto.setName("Alterado");
+
+		productService.update(1L, dto);
+
+		Assertions.assertEquals("Alterado", primary.queryForObject("SELECT name FROM tb_product WHERE id = 1", String.class));
+		Assertions.assertEquals("Na réplica", replicaName());
+	}
+
+	@Test
+	public void staleReplicaShouldFallBackToPrimaryUntilItCatchesUp() throws SQLException {
+		replica("INSERT INTO replica_lag VALUES (60000)");
+		routingDataSource.checkReplicas();
+		double fallbacks = routed(ReadWriteRoutingDataSource.PRIMARY, "fallback");
+
+		Assertions.assertEquals("The Lord of the Rings", productService.findById(1L).getName());
+		Assertions.assertEquals(fallbacks + 1, routed(ReadWriteRoutingDataSource.PRIMARY, "fallback"));
+		Assertions.assertEquals(0.0, registry.get("dscatalog.datasource.replica.usable").tag("pool", "replica-0").gauge().value());
+
+		replica("DELETE FROM replica_lag");
+		routingDataSource.checkReplicas();
+
+		Assertions.assertEquals("Na réplica", productService.findById(1L).getName());
+	}
+
+	private double routed(String target, String reason) {
+		return registry.get("dscatalog.datasource.routed").tag("target", target).tag("reason", reason).counter().count();
+	}
+
+	private String replicaName() throws SQLException {
+		try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+				Statement statement = connection.createStatement();
+				ResultSet rs = statement.executeQuery("SELECT name FROM tb_product WHERE id = 1")) {
+			rs.next();
+			return rs.getString(1);
+		}
+	}
+
+	private static void replica(String... statements) throws SQLException {
+		try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+				Statement statement = connection.createStatement()) {
+			for (String sql : statements) {
+				statement.execute(sql);
+			}
+		}
+	}
+
+}
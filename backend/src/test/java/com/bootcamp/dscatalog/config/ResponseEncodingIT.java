@@ -0,0 +1,100 @@
+package com.bootcamp.dscatalog.config;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+// Servidor real (a compressão é do Tomcat, o MockMvc não a aplica) com banco próprio.
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = "spring.datasource.url=jdbc:h2:mem:encodingdb")
+public class ResponseEncodingIT {
+
+	private static final String PAGE = "/products?page=0&size=20&sort=id";
+
+	@LocalServerPort
+	private int port;
+
+	private HttpClient client;
+
+	@BeforeEach
+	void setUp() {
+		client = HttpClient.newHttpClient();
+	}
+
+	@Test
+	public void pageShouldBeGzippedWhenClientAcceptsIt() throws Exception {
+		HttpResponse<byte[]> plain = get(PAGE, "application/json", null);
+		HttpResponse<byte[]> gzipped = get(PAGE, "application/json", "gzip");
+
+		Assertions.assertTrue(plain.headers().firstValue("Content-Encoding").isEmpty());
+		Assertions.assertEquals("gzip", gzipped.headers().firstValue("Content-Encoding").orElse(null));
+		Assertions.assertTrue(gzipped.body().length < plain.body().length);
+		Assertions.assertEquals(read(new ObjectMapper(), plain.body()), read(new ObjectMapper(), gunzip(gzipped.body())));
+	}
+
+	@Test
+	public void responseBelowMinimumSizeShouldNotBeCompressed() throws Exception {
+		HttpResponse<byte[]> response = get("/products/1", "application/json", "gzip");
+
+		Assertions.assertEquals(200, response.statusCode());
+		Assertions.assertTrue(response.headers().firstValue("Content-Encoding").isEmpty());
+	}
+
+	@Test
+	public void pageShouldBeNegotiatedAsCbor() throws Exception {
+		assertBinaryEncoding("application/cbor", new ObjectMapper(new CBORFactory()));
+	}
+
+	@Test
+	public void pageShouldBeNegotiatedAsSmile() throws Exception {
+		assertBinaryEncoding("application/x-jackson-smile", new ObjectMapper(new SmileFactory()));
+	}
+
+	// Mesmo conteúdo do JSON (datas inclusive) em menos bytes.
+	private void assertBinaryEncoding(String mediaType, ObjectMapper binaryMapper) throws Exception {
+		HttpResponse<byte[]> json = get(PAGE, "application/json", null);
+		HttpResponse<byte[]> binary = get(PAGE, mediaType, null);
+
+		Assertions.assertEquals(200, binary.statusCode());
+		Assertions.assertEquals(mediaType, binary.headers().firstValue("Content-Type").orElse(null));
+		Assertions.assertTrue(binary.body().length < json.body().length);
+		Assertions.assertEquals(read(new ObjectMapper(), json.body()), read(binaryMapper, binary.body()));
+	}
+
+	private HttpResponse<byte[]> get(String path, String accept, String acceptEncoding) throws Exception {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.header("Accept", accept);
+		if (acceptEncoding != null) {
+			request.header("Accept-Encoding", acceptEncoding);
+		}
+		return client.send(request.GET().build(), BodyHandlers.ofByteArray());
+	}
+
+	private static JsonNode read(ObjectMapper mapper, byte[] body) throws IOException {
+		return mapper.readTree(body);
+	}
+
+	private static byte[] gunzip(byte[] body) throws IOException {
+		try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+			return in.readAllBytes();
+		}
+	}
+
+}
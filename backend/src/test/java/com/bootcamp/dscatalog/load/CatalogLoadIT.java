@@ -0,0 +1,314 @@
+package com.bootcamp.dscatalog.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bootcamp.dscatalog.entities.Category;
+import com.bootcamp.dscatalog.entities.Product;
+import com.bootcamp.dscatalog.entities.Role;
+import com.bootcamp.dscatalog.entities.User;
+import com.bootcamp.dscatalog.repositories.CategoryRepository;
+import com.bootcamp.dscatalog.repositories.RoleRepository;
+import com.bootcamp.dscatalog.repositories.UserRepository;
+import com.bootcamp.dscatalog.services.EmailBloomFilter;
+import com.bootcamp.dscatalog.services.imports.ProductBulkWriter;
+
+/*
+ * Carga mista e concorrente sobre a aplicação real (Tomcat em porta aleatória, banco semeado).
+ * Fica fora do build padrão (tag "load"); rode com mvn -Ploadtest test e ajuste os SLOs
+ * com -Dloadtest.* (ver o perfil loadtest no pom.xml). O teste falha quando algum SLO regride.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+public class CatalogLoadIT {
+
+	private static final Logger LOG = LoggerFactory.getLogger(CatalogLoadIT.class);
+
+	private static final String PASSWORD_HASH = "$2a$10$eACCYoNOHEqXve8aIWT8Nu3PkMXWBaOxJ9aORUYzfMQCbVBIhZ8tG";
+	private static final String PRODUCT_JSON = "{\"name\":\"%s\",\"description\":\"Produto de carga\",\"price\":%d.0,"
+			+ "\"imgUrl\":\"https://img.com/img.png\",\"date\":\"2020-10-20T03:00:00Z\",\"categories\":[{\"id\":%d}]}";
+	private static final String USER_JSON = "{\"firstName\":\"Carga\",\"lastName\":\"%d\",\"email\":\"carga%d@load.com\","
+			+ "\"roles\":[{\"id\":1}]}";
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private ProductBulkWriter bulkWriter;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	@Autowired
+	private EmailBloomFilter emailFilter;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Value("${loadtest.seed.products:10000}")
+	private int seedProducts;
+
+	@Value("${loadtest.seed.users:1000}")
+	private int seedUsers;
+
+	@Value("${loadtest.threads:16}")
+	private int threads;
+
+	@Value("${loadtest.warmup-seconds:10}")
+	private int warmupSeconds;
+
+	@Value("${loadtest.duration-seconds:30}")
+	private int durationSeconds;
+
+	@Value("${loadtest.slo.p50-ms:50}")
+	private double sloP50Millis;
+
+	@Value("${loadtest.slo.p99-ms:500}")
+	private double sloP99Millis;
+
+	@Value("${loadtest.slo.p999-ms:1500}")
+	private double sloP999Millis;
+
+	@Value("${loadtest.slo.min-throughput:100}")
+	private double sloMinThroughput;
+
+	@Value("${loadtest.slo.max-error-rate:0.001}")
+	private double sloMaxErrorRate;
+
+	private HttpClient client;
+	private String baseUrl;
+	private long[] productIds;
+	private long[] userIds;
+	private List<Long> categoryIds;
+
+	@BeforeEach
+	void setUp() {
+		client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+		baseUrl = "http://localhost:" + port;
+		categoryIds = new ArrayList<>();
+		categoryRepository.findAll().forEach(category -> categoryIds.add(category.getId()));
+		seedProducts();
+		seedUsers();
+	}
+
+	@Test
+	public void mixedTrafficShouldMeetLatencySlos() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			run(executor, Duration.ofSeconds(warmupSeconds));
+			long start = System.nanoTime();
+			LatencyRecorder total = run(executor, Duration.ofSeconds(durationSeconds));
+			double seconds = (System.nanoTime() - start) / 1e9;
+
+			double throughput = total.count() / seconds;
+			double errorRate = total.count() == 0 ? 1.0 : (double) total.getErrors() / total.count();
+			long[] all = total.sortedAll();
+			report(total, throughput, errorRate, all);
+
+			Assertions.assertAll(
+					() -> Assertions.assertTrue(millis(LatencyRecorder.percentile(all, 0.50)) <= sloP50Millis, "p50 acima do SLO"),
+					() -> Assertions.assertTrue(millis(LatencyRecorder.percentile(all, 0.99)) <= sloP99Millis, "p99 acima do SLO"),
+					() -> Assertions.assertTrue(millis(LatencyRecorder.percentile(all, 0.999)) <= sloP999Millis, "p999 acima do SLO"),
+					() -> Assertions.assertTrue(throughput >= sloMinThroughput, "Vazão abaixo do SLO"),
+					() -> Assertions.assertTrue(errorRate <= sloMaxErrorRate, "Taxa de erros acima do SLO"));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private LatencyRecorder run(ExecutorService executor, Duration duration) throws Exception {
+		long deadline = System.nanoTime() + duration.toNanos();
+		List<Future<LatencyRecorder>> futures = new ArrayList<>();
+		for (int i = 0; i < threads; i++) {
+			futures.add(executor.submit(() -> worker(deadline)));
+		}
+		LatencyRecorder total = new LatencyRecorder();
+		for (Future<LatencyRecorder> future : futures) {
+			total.merge(future.get(duration.toSeconds() + 60, TimeUnit.SECONDS));
+		}
+		return total;
+	}
+
+	/*
+	 * Mistura aproximada do tráfego real: maioria de leituras de produtos, e cada thread
+	 * só apaga os produtos que ela mesma inseriu (os ids semeados continuam válidos).
+	 */
+	private LatencyRecorder worker(long deadline) {
+		LatencyRecorder recorder = new LatencyRecorder();
+		Deque<Long> created = new ArrayDeque<>();
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		while (System.nanoTime() < deadline) {
+			int dice = random.nextInt(100);
+			if (dice < 35) {
+				int page = random.nextInt(Math.max(productIds.length / 12, 1));
+				call(recorder, "GET /products", get("/products?page=" + page + "&size=12&sort=name,asc"));
+			} else if (dice < 45) {
+				call(recorder, "GET /products?categoryId", get("/products?categoryId=" + pick(categoryIds) + "&page=0&size=12"));
+			} else if (dice < 65) {
+				call(recorder, "GET /products/{id}", get("/products/" + pick(productIds)));
+			} else if (dice < 70) {
+				call(recorder, "GET /categories", get("/categories"));
+			} else if (dice < 74) {
+				call(recorder, "GET /categories/{id}", get("/categories/" + pick(categoryIds)));
+			} else if (dice < 78) {
+				call(recorder, "GET /users", get("/users?page=" + random.nextInt(Math.max(userIds.length / 12, 1)) + "&size=12"));
+			} else if (dice < 82) {
+				call(recorder, "GET /users/{id}", get("/users/" + pick(userIds)));
+			} else if (dice < 88) {
+				String body = String.format(PRODUCT_JSON, "Produto carga " + random.nextInt(1_000_000), random.nextInt(1, 5000), pick(categoryIds));
+				HttpResponse<String> response = call(recorder, "POST /products", send("POST", "/products", body));
+				if (response != null && response.statusCode() == 201) {
+					created.add(idFrom(response.body()));
+				}
+			} else if (dice < 94) {
+				String body = String.format(PRODUCT_JSON, "Produto alterado " + random.nextInt(1_000_000), random.nextInt(1, 5000), pick(categoryIds));
+				call(recorder, "PUT /products/{id}", send("PUT", "/products/" + pick(productIds), body));
+			} else if (dice < 97) {
+				long id = pick(userIds);
+				call(recorder, "PUT /users/{id}", send("PUT", "/users/" + id, String.format(USER_JSON, id, id)));
+			} else if (!created.isEmpty()) {
+				call(recorder, "DELETE /products/{id}", send("DELETE", "/products/" + created.poll(), null));
+			}
+		}
+		return recorder;
+	}
+
+	private HttpResponse<String> call(LatencyRecorder recorder, String operation, HttpRequest request) {
+		long start = System.nanoTime();
+		try {
+			HttpResponse<String> response = client.send(request, BodyHandlers.ofString());
+			recorder.record(operation, System.nanoTime() - start, response.statusCode() < 400);
+			return response;
+		} catch (IOException e) {
+			recorder.record(operation, System.nanoTime() - start, false);
+			return null;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private HttpRequest get(String path) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Accept", "application/json").GET().build();
+	}
+
+	private HttpRequest send(String method, String path, String body) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.header("Accept", "application/json")
+				.header("Content-Type", "application/json")
+				.method(method, body == null ? BodyPublishers.noBody() : BodyPublishers.ofString(body))
+				.build();
+	}
+
+	private void report(LatencyRecorder total, double throughput, double errorRate, long[] all) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("%nCarga: %d threads, %ds, %d requisições, %.1f req/s, erros %.3f%%%n",
+				threads, durationSeconds, total.count(), throughput, errorRate * 100));
+		sb.append(String.format("%-26s %8s %9s %9s %9s %9s%n", "operação", "n", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+		for (Map.Entry<String, long[]> entry : total.sortedByOperation().entrySet()) {
+			sb.append(line(entry.getKey(), entry.getValue()));
+		}
+		sb.append(line("total", all));
+		sb.append(String.format("SLO: p50 <= %.0f ms, p99 <= %.0f ms, p999 <= %.0f ms, >= %.0f req/s, erros <= %.3f%%",
+				sloP50Millis, sloP99Millis, sloP999Millis, sloMinThroughput, sloMaxErrorRate * 100));
+		LOG.info(sb.toString());
+	}
+
+	private static String line(String operation, long[] sorted) {
+		return String.format("%-26s %8d %9.2f %9.2f %9.2f %9.2f%n", operation, sorted.length,
+				millis(LatencyRecorder.percentile(sorted, 0.50)),
+				millis(LatencyRecorder.percentile(sorted, 0.99)),
+				millis(LatencyRecorder.percentile(sorted, 0.999)),
+				millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+	}
+
+	private void seedProducts() {
+		List<Category> categories = categoryRepository.findAllById(categoryIds);
+		productIds = new long[seedProducts];
+		List<Product> chunk = new ArrayList<>();
+		for (int i = 0; i < seedProducts; i++) {
+			Product product = new Product(null, "Produto semeado " + i, "Descrição do produto semeado " + i,
+					10.0 + i % 5000, "https://img.com/" + i + ".png", Instant.parse("2020-10-20T03:00:00Z"));
+			product.getCategories().add(categories.get(i % categories.size()));
+			chunk.add(product);
+			if (chunk.size() == 1000 || i == seedProducts - 1) {
+				bulkWriter.write(chunk);
+				for (int j = 0; j < chunk.size(); j++) {
+					productIds[i - chunk.size() + 1 + j] = chunk.get(j).getId();
+				}
+				chunk.clear();
+			}
+		}
+	}
+
+	private void seedUsers() {
+		List<Role> roles = roleRepository.findAll();
+		List<User> users = new ArrayList<>();
+		for (int i = 0; i < seedUsers; i++) {
+			User user = new User(null, "Carga", String.valueOf(i), "semeado" + i + "@load.com", PASSWORD_HASH);
+			user.getRoles().add(roles.get(0));
+			users.add(user);
+		}
+		transactionTemplate.executeWithoutResult(status -> userRepository.saveAll(users));
+		userIds = users.stream().mapToLong(User::getId).toArray();
+		emailFilter.rebuild();
+	}
+
+	private static long idFrom(String json) {
+		int start = json.indexOf("\"id\":") + 5;
+		int end = start;
+		while (end < json.length() && Character.isDigit(json.charAt(end))) {
+			end++;
+		}
+		return Long.parseLong(json.substring(start, end));
+	}
+
+	private static long pick(long[] ids) {
+		return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+	}
+
+	private static long pick(List<Long> ids) {
+		return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1e6;
+	}
+
+}
@@ -0,0 +1,90 @@
+package com.bootcamp.dscatalog.load;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * Latências (em nanos) por operação, uma instância por thread de carga sem sincronização;
+ * no fim as instâncias são somadas com merge. Os percentis são exatos (amostras ordenadas).
+ */
+class LatencyRecorder {
+
+	private final Map<String, Samples> samples = new LinkedHashMap<>();
+	private long errors;
+
+	void record(String operation, long nanos, boolean success) {
+		samples.computeIfAbsent(operation, key -> new Samples()).add(nanos);
+		if (!success) {
+			errors++;
+		}
+	}
+
+	void merge(LatencyRecorder other) {
+		other.samples.forEach((operation, values) ->
+				samples.computeIfAbsent(operation, key -> new Samples()).addAll(values));
+		errors += other.errors;
+	}
+
+	long getErrors() {
+		return errors;
+	}
+
+	long count() {
+		return samples.values().stream().mapToLong(values -> values.size).sum();
+	}
+
+	Map<String, long[]> sortedByOperation() {
+		Map<String, long[]> result = new LinkedHashMap<>();
+		samples.forEach((operation, values) -> result.put(operation, values.sorted()));
+		return result;
+	}
+
+	long[] sortedAll() {
+		long[] all = new long[(int) count()];
+		int pos = 0;
+		for (Samples values : samples.values()) {
+			System.arraycopy(values.data, 0, all, pos, values.size);
+			pos += values.size;
+		}
+		Arrays.sort(all);
+		return all;
+	}
+
+	// Percentil pelo método nearest-rank sobre amostras já ordenadas.
+	static long percentile(long[] sorted, double p) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int rank = (int) Math.ceil(p * sorted.length);
+		return sorted[Math.max(rank - 1, 0)];
+	}
+
+	private static class Samples {
+
+		private long[] data = new long[1024];
+		private int size;
+
+		void add(long value) {
+			if (size == data.length) {
+				data = Arrays.copyOf(data, size * 2);
+			}
+			data[size++] = value;
+		}
+
+		void addAll(Samples other) {
+			if (size + other.size > data.length) {
+				data = Arrays.copyOf(data, Math.max(data.length * 2, size + other.size));
+			}
+			System.arraycopy(other.data, 0, data, size, other.size);
+			size += other.size;
+		}
+
+		long[] sorted() {
+			long[] copy = Arrays.copyOf(data, size);
+			Arrays.sort(copy);
+			return copy;
+		}
+	}
+
+}
@@ -2,19 +2,24 @@ package com.bootcamp.dscatalog.resources;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.bootcamp.dscatalog.dto.CategoryDTO;
 import com.bootcamp.dscatalog.dto.ProductDTO;
 import com.bootcamp.dscatalog.tests.Factory;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -55,6 +60,35 @@ public class ProductResourceIT {
 		result.andExpect(jsonPath("$.content[2].name").value("PC Gamer Alfa"));
 	}
 	
+	@Test
+	public void findAllShouldReturnLeanPageWithoutTotalWhenCountIsFalse() throws Exception {
+		ResultActions result = 
+				mockMvc.perform(get("/products?page=0&size=12&sort=name,asc&count=false")
+						.accept(MediaType.APPLICATION_JSON));
+		
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.items[0].name").value("Macbook Pro"));
+		result.andExpect(jsonPath("$.items.length()").value(12));
+		result.andExpect(jsonPath("$.page").value(0));
+		result.andExpect(jsonPath("$.size").value(12));
+		result.andExpect(jsonPath("$.hasNext").value(true));
+		result.andExpect(jsonPath("$.total").isEmpty());
+		result.andExpect(jsonPath("$.pageable").doesNotExist());
+	}
+	
+	@Test
+	public void findAllShouldReturnLeanPageWithTotalWhenCountIsTrue() throws Exception {
+		ResultActions result = 
+				mockMvc.perform(get("/products?page=2&size=12&count=true")
+						.accept(MediaType.APPLICATION_JSON));
+		
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.items.length()").value(1));
+		result.andExpect(jsonPath("$.hasNext").value(false));
+		result.andExpect(jsonPath("$.total").value(countTotalProducts));
+		result.andExpect(jsonPath("$.totalExact").value(true));
+	}
+	
 	@Test
 	public void updateShouldReturnProductDTOWhenIdExists() throws Exception {
 		ProductDTO productDTO = Factory.createProductDTO();
@@ -75,6 +109,50 @@ public class ProductResourceIT {
 		result.andExpect(jsonPath("$.description").value(expectedDescription));
 	}
 	
+	@Test
+	public void updateShouldChangeETagWhenOnlyCategoriesChange() throws Exception {
+		MvcResult before = mockMvc.perform(get("/products/{id}", existingId).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk()).andReturn();
+		String eTag = before.getResponse().getHeader(HttpHeaders.ETAG);
+		ProductDTO productDTO = objectMapper.readValue(before.getResponse().getContentAsString(), ProductDTO.class);
+		productDTO.getCategories().clear();
+		productDTO.getCategories().add(new CategoryDTO(3L, null));
+		
+		mockMvc.perform(put("/products/{id}", existingId)
+				.content(objectMapper.writeValueAsString(productDTO))
+				.contentType(MediaType.APPLICATION_JSON)
+				.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk());
+		
+		ResultActions result = mockMvc.perform(get("/products/{id}", existingId)
+				.header(HttpHeaders.IF_NONE_MATCH, eTag)
+				.accept(MediaType.APPLICATION_JSON));
+		
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.categories[0].id").value(3L));
+		Assertions.assertNotEquals(eTag, result.andReturn().getResponse().getHeader(HttpHeaders.ETAG));
+		Assertions.assertNotEquals(before.getResponse().getHeader(HttpHeaders.LAST_MODIFIED),
+				result.andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED));
+	}
+	
+	@Test
+	public void findByIdShouldChangeETagWhenCategoryIsRenamed() throws Exception {
+		String eTag = mockMvc.perform(get("/products/{id}", existingId).accept(MediaType.APPLICATION_JSON))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		
+		mockMvc.perform(put("/categories/{id}", 2L)
+				.content(objectMapper.writeValueAsString(new CategoryDTO(null, "Eletrônicos e Games")))
+				.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk());
+		
+		ResultActions result = mockMvc.perform(get("/products/{id}", existingId)
+				.header(HttpHeaders.IF_NONE_MATCH, eTag)
+				.accept(MediaType.APPLICATION_JSON));
+		
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.categories[0].name").value("Eletrônicos e Games"));
+	}
+	
 	@Test
 	public void updateShouldReturnNotFoundWhenIdDoesNotExists() throws Exception {
 		ProductDTO productDTO = Factory.createProductDTO();
@@ -88,5 +166,22 @@ public class ProductResourceIT {
 		
 		result.andExpect(status().isNotFound());
 	}
+	
+	@Test
+	public void exportShouldStreamOneCsvLinePerProductWithCategories() throws Exception {
+		ResultActions result = mockMvc.perform(get("/products/export?format=csv"));
+		
+		result.andExpect(status().isOk());
+		result.andExpect(content().contentTypeCompatibleWith("text/csv"));
+		String[] lines = result.andReturn().getResponse().getContentAsString().split("\n");
+		Assertions.assertEquals(countTotalProducts + 1, lines.length);
+		Assertions.assertTrue(lines[2].startsWith("2,Smart TV,"));
+		Assertions.assertTrue(lines[2].endsWith(",1;3") || lines[2].endsWith(",3;1"));
+	}
+	
+	@Test
+	public void exportShouldReturnBadRequestWhenFormatIsUnknown() throws Exception {
+		mockMvc.perform(get("/products/export?format=xml")).andExpect(status().isBadRequest());
+	}
 
 }
@@ -7,6 +7,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.Instant;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -17,11 +18,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
+import com.bootcamp.dscatalog.dto.ProductCardDTO;
 import com.bootcamp.dscatalog.dto.ProductDTO;
+import com.bootcamp.dscatalog.dto.VersionDTO;
+import com.bootcamp.dscatalog.entities.Product;
 import com.bootcamp.dscatalog.services.ProductService;
 import com.bootcamp.dscatalog.services.exceptions.DataBaseException;
 import com.bootcamp.dscatalog.services.exceptions.ResourceNotFoundException;
@@ -41,6 +47,7 @@ public class ProductResourceTests {
 	private ObjectMapper objectMapper;
 	
 	private ProductDTO productDTO;
+	private VersionDTO version;
 	private PageImpl<ProductDTO> page;
 	private long existingId;
 	private long nonExistingId;
@@ -49,18 +56,25 @@ public class ProductResourceTests {
 	@BeforeEach
 	void setUp() throws Exception {
 		productDTO = Factory.createProductDTO();
+		version = new VersionDTO(1L, Instant.parse("2020-10-20T03:00:00Z"), null);
 		page = new PageImpl<>(List.of(productDTO));
 		existingId = 1L;
 		nonExistingId = 2L;
 		dependentId = 3L;
 		
-		Mockito.when(service.findAllPaged(ArgumentMatchers.any())).thenReturn(page);
+		Mockito.when(service.findAllPaged(ArgumentMatchers.any(), ArgumentMatchers.any())).thenReturn(page);
+		Mockito.when(service.findAllCards(ArgumentMatchers.any(), ArgumentMatchers.any())).thenReturn(
+				new PageImpl<>(List.of(new ProductCardDTO(productDTO.getId(), productDTO.getName(), productDTO.getPrice(), productDTO.getImgUrl()))));
 		
+		Mockito.when(service.findVersion(existingId)).thenReturn(version);
+		Mockito.when(service.findVersion(nonExistingId)).thenThrow(ResourceNotFoundException.class);
 		Mockito.when(service.findById(existingId)).thenReturn(productDTO);
 		Mockito.when(service.findById(nonExistingId)).thenThrow(ResourceNotFoundException.class);
 		
 		Mockito.when(service.update(ArgumentMatchers.eq(existingId), ArgumentMatchers.any())).thenReturn(productDTO);
 		Mockito.when(service.update(ArgumentMatchers.eq(nonExistingId), ArgumentMatchers.any())).thenThrow(ResourceNotFoundException.class);
+		Mockito.when(service.update(ArgumentMatchers.eq(dependentId), ArgumentMatchers.any()))
+				.thenThrow(new ObjectOptimisticLockingFailureException(Product.class, dependentId));
 		
 		Mockito.doNothing().when(service).delete(existingId);
 		Mockito.doThrow(ResourceNotFoundException.class).when(service).delete(nonExistingId);
@@ -74,6 +88,16 @@ public class ProductResourceTests {
 		mockMvc.perform(get("/products").accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
 	}
 	
+	@Test
+	public void findAllShouldReturnCardPageWithoutDescriptionWhenProjectionIsCard() throws Exception {
+		ResultActions result = mockMvc.perform(get("/products?projection=card").accept(MediaType.APPLICATION_JSON));
+		
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.content[0].name").exists());
+		result.andExpect(jsonPath("$.content[0].description").doesNotExist());
+		Mockito.verify(service, Mockito.never()).findAllPaged(ArgumentMatchers.any(), ArgumentMatchers.any());
+	}
+	
 	@Test
 	public void findByIdShouldReturnProductWhenIdExist() throws Exception {
 		ResultActions result = mockMvc.perform(get("/products/{id}", existingId).accept(MediaType.APPLICATION_JSON));
@@ -84,6 +108,16 @@ public class ProductResourceTests {
 		result.andExpect(jsonPath("$.description").exists());
 	}
 	
+	@Test
+	public void findByIdShouldReturnNotModifiedWhenETagMatches() throws Exception {
+		ResultActions result = mockMvc.perform(get("/products/{id}", existingId)
+				.header(HttpHeaders.IF_NONE_MATCH, version.eTag())
+				.accept(MediaType.APPLICATION_JSON));
+		
+		result.andExpect(status().isNotModified());
+		Mockito.verify(service, Mockito.never()).findById(existingId);
+	}
+	
 	@Test
 	public void findByIdShouldNotFoundWhenIdDoesNotExists() throws Exception {
 		ResultActions result = mockMvc.perform(get("/products/{id}", nonExistingId).accept(MediaType.APPLICATION_JSON));
@@ -120,6 +154,19 @@ public class ProductResourceTests {
 		result.andExpect(status().isNotFound());
 	}
 	
+	@Test
+	public void updateShouldReturnConflictWhenProductWasModifiedConcurrently() throws Exception {
+		String jsonBody = objectMapper.writeValueAsString(productDTO);
+		
+		ResultActions result = 
+				mockMvc.perform(put("/products/{id}", dependentId)
+					   .content(jsonBody)
+					   .contentType(MediaType.APPLICATION_JSON)
+					   .accept(MediaType.APPLICATION_JSON));
+		
+		result.andExpect(status().isConflict());
+	}
+	
 	@Test
 	public void insertShouldReturnProductDTOWhenCreatedProduct() throws Exception {
 		String jsonBody = objectMapper.writeValueAsString(productDTO);
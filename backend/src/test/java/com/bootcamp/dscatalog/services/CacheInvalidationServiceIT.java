@@ -0,0 +1,115 @@
+package com.bootcamp.dscatalog.services;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bootcamp.dscatalog.entities.Category;
+import com.bootcamp.dscatalog.repositories.CategoryRepository;
+import com.bootcamp.dscatalog.repositories.UserRepository;
+
+@SpringBootTest
+public class CacheInvalidationServiceIT {
+
+	@Autowired
+	private CacheInvalidationService service;
+
+	private static final String USER_ROLES = "com.bootcamp.dscatalog.entities.User.roles";
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Cache cache;
+	private Statistics statistics;
+	private Long existingId;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+		cache = sessionFactory.getCache();
+		statistics = sessionFactory.getStatistics();
+		existingId = 1L;
+		cache.evictAllRegions();
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		jdbcTemplate.update("UPDATE tb_category SET updated_at = NULL WHERE id = ?", existingId);
+		jdbcTemplate.update("DELETE FROM tb_user_role WHERE user_id = ? AND role_id = 2", existingId);
+		jdbcTemplate.update("UPDATE tb_user SET version = 0 WHERE id = ?", existingId);
+		cache.evictAllRegions();
+	}
+
+	@Test
+	public void findByIdShouldHitSecondLevelCacheInLaterTransactions() {
+		loadCategory();
+		long hits = statistics.getCacheRegionStatistics("category").getHitCount();
+
+		loadCategory();
+
+		Assertions.assertTrue(cache.containsEntity(Category.class, existingId));
+		Assertions.assertEquals(hits + 1, statistics.getCacheRegionStatistics("category").getHitCount());
+	}
+
+	@Test
+	public void pollShouldEvictCategoriesWhenTableChangesOutsideThisNode() {
+		service.poll();
+		loadCategory();
+		Assertions.assertTrue(cache.containsEntity(Category.class, existingId));
+
+		// Simula a escrita de outro nó: direto no banco, sem passar pelo Hibernate deste nó.
+		jdbcTemplate.update("UPDATE tb_category SET name = name, updated_at = ? WHERE id = ?",
+				Timestamp.from(Instant.now()), existingId);
+		service.poll();
+
+		Assertions.assertFalse(cache.containsEntity(Category.class, existingId));
+	}
+
+	@Test
+	public void pollShouldEvictUserRolesWhenOnlyRolesChangeOutsideThisNode() {
+		service.poll();
+		loadUser();
+		Assertions.assertTrue(cache.containsCollection(USER_ROLES, existingId));
+
+		// Outro nó só alterou os roles: updated_at igual, versão incrementada pelo Hibernate de lá.
+		jdbcTemplate.update("INSERT INTO tb_user_role (user_id, role_id) VALUES (?, 2)", existingId);
+		jdbcTemplate.update("UPDATE tb_user SET version = version + 1 WHERE id = ?", existingId);
+		service.poll();
+
+		Assertions.assertFalse(cache.containsCollection(USER_ROLES, existingId));
+	}
+
+	private void loadUser() {
+		transactionTemplate.executeWithoutResult(status -> userRepository.findById(existingId).orElseThrow());
+	}
+
+	private void loadCategory() {
+		transactionTemplate.executeWithoutResult(status -> categoryRepository.findById(existingId).orElseThrow());
+	}
+
+}
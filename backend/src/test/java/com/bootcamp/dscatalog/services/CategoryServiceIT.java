@@ -0,0 +1,91 @@
+package com.bootcamp.dscatalog.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bootcamp.dscatalog.config.CacheConfig;
+import com.bootcamp.dscatalog.dto.CategoryDTO;
+
+// Sem @Transactional: o cache só é alterado no commit, então cada teste controla a própria transação.
+@SpringBootTest
+public class CategoryServiceIT {
+
+	@Autowired
+	private CategoryService service;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private Long existingId;
+	private String existingName;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		existingId = 1L;
+		existingName = "Livros";
+		cacheManager.getCache(CacheConfig.CATEGORIES).clear();
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		service.update(existingId, new CategoryDTO(null, existingName));
+		cacheManager.getCache(CacheConfig.CATEGORIES).clear();
+		cacheManager.getCache(CacheConfig.CATEGORY_PAGES).clear();
+	}
+
+	@Test
+	public void findByIdShouldReturnCopyOfCachedCategoryWhenCalledTwice() {
+		CategoryDTO first = service.findById(existingId);
+		first.setName("Alterado pelo chamador");
+		CategoryDTO second = service.findById(existingId);
+
+		Assertions.assertNotNull(cacheManager.getCache(CacheConfig.CATEGORIES).get(existingId));
+		Assertions.assertNotSame(first, second);
+		Assertions.assertEquals(existingName, second.getName());
+	}
+
+	@Test
+	public void updateShouldEvictCachedCategory() {
+		service.findById(existingId);
+
+		service.update(existingId, new CategoryDTO(null, "Livros e Revistas"));
+
+		Assertions.assertNull(cacheManager.getCache(CacheConfig.CATEGORIES).get(existingId));
+		Assertions.assertEquals("Livros e Revistas", service.findById(existingId).getName());
+	}
+
+	@Test
+	public void updateShouldEvictCachedCategoryOnlyAfterCommit() {
+		service.findById(existingId);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			service.update(existingId, new CategoryDTO(null, "Livros e Revistas"));
+			Assertions.assertNotNull(cacheManager.getCache(CacheConfig.CATEGORIES).get(existingId));
+		});
+
+		Assertions.assertNull(cacheManager.getCache(CacheConfig.CATEGORIES).get(existingId));
+	}
+
+	@Test
+	public void updateShouldKeepCachedCategoryWhenTransactionRollsBack() {
+		service.findById(existingId);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			service.update(existingId, new CategoryDTO(null, "Livros e Revistas"));
+			status.setRollbackOnly();
+		});
+
+		Assertions.assertNotNull(cacheManager.getCache(CacheConfig.CATEGORIES).get(existingId));
+		Assertions.assertEquals(existingName, service.findById(existingId).getName());
+	}
+
+}
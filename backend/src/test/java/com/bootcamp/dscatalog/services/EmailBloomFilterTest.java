@@ -0,0 +1,36 @@
+package com.bootcamp.dscatalog.services;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class EmailBloomFilterTest {
+
+	@Test
+	public void bitsShouldNeverReturnFalseNegatives() {
+		EmailBloomFilter.Bits bits = new EmailBloomFilter.Bits(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			bits.put("user" + i + "@gmail.com");
+		}
+
+		for (int i = 0; i < 10_000; i++) {
+			Assertions.assertTrue(bits.mightContain("user" + i + "@gmail.com"));
+		}
+	}
+
+	@Test
+	public void bitsShouldKeepFalsePositiveRateNearConfiguredValue() {
+		EmailBloomFilter.Bits bits = new EmailBloomFilter.Bits(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			bits.put("user" + i + "@gmail.com");
+		}
+
+		int falsePositives = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (bits.mightContain("other" + i + "@gmail.com")) {
+				falsePositives++;
+			}
+		}
+		Assertions.assertTrue(falsePositives < 2_000, "falsos positivos: " + falsePositives);
+	}
+
+}
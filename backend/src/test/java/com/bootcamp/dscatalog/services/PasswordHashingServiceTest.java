@@ -0,0 +1,81 @@
+package com.bootcamp.dscatalog.services;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.bootcamp.dscatalog.services.exceptions.ServiceUnavailableException;
+
+public class PasswordHashingServiceTest {
+
+	private PasswordHashingService service;
+	private ExecutorService callers = Executors.newCachedThreadPool();
+
+	@AfterEach
+	void tearDown() throws Exception {
+		service.shutdown();
+		callers.shutdownNow();
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	public void encodeShouldReturnEncodedPassword() {
+		service = new PasswordHashingService(NoOpPasswordEncoder.getInstance(), 1, 1, 1000);
+
+		Assertions.assertEquals("123456", service.encode("123456"));
+	}
+
+	@Test
+	public void encodeShouldThrowServiceUnavailableExceptionWhenQueueIsFull() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		service = new PasswordHashingService(blockingEncoder(release), 1, 1, 5000);
+
+		// Um hash ocupa o único thread e outro ocupa a única vaga da fila.
+		callers.submit(() -> service.encode("a"));
+		callers.submit(() -> service.encode("b"));
+		while (service.getActiveCount() < 1 || service.getQueueSize() < 1) {
+			Thread.sleep(5);
+		}
+
+		Assertions.assertThrows(ServiceUnavailableException.class, () -> {
+			service.encode("c");
+		});
+		release.countDown();
+	}
+
+	@Test
+	public void encodeShouldThrowServiceUnavailableExceptionWhenHashTimesOut() {
+		service = new PasswordHashingService(blockingEncoder(new CountDownLatch(1)), 1, 1, 50);
+
+		Assertions.assertThrows(ServiceUnavailableException.class, () -> {
+			service.encode("a");
+		});
+	}
+
+	private static PasswordEncoder blockingEncoder(CountDownLatch release) {
+		return new PasswordEncoder() {
+			@Override
+			public String encode(CharSequence rawPassword) {
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return rawPassword.toString();
+			}
+
+			@Override
+			public boolean matches(CharSequence rawPassword, String encodedPassword) {
+				return rawPassword.toString().equals(encodedPassword);
+			}
+		};
+	}
+
+}
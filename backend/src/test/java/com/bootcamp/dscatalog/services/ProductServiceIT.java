@@ -1,5 +1,15 @@
 package com.bootcamp.dscatalog.services;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,11 +18,26 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.bootcamp.dscatalog.dto.BatchItemResultDTO;
+import com.bootcamp.dscatalog.dto.CategoryDTO;
+import com.bootcamp.dscatalog.dto.CursorPageDTO;
+import com.bootcamp.dscatalog.dto.PageDTO;
+import com.bootcamp.dscatalog.dto.ProductCardDTO;
 import com.bootcamp.dscatalog.dto.ProductDTO;
+import com.bootcamp.dscatalog.dto.ProductFilterDTO;
+import com.bootcamp.dscatalog.entities.Product;
 import com.bootcamp.dscatalog.repositories.ProductRepository;
+import com.bootcamp.dscatalog.services.exceptions.BadRequestException;
 import com.bootcamp.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.bootcamp.dscatalog.services.exceptions.ValidationException;
+import com.bootcamp.dscatalog.tests.Factory;
 
 @SpringBootTest
 @Transactional
@@ -24,6 +49,21 @@ public class ProductServiceIT {
 	@Autowired
 	private ProductRepository repository;
 	
+	@Autowired
+	private ProductCountService countService;
+	
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	
+	@Autowired
+	private EntityManager entityManager;
+	
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	
 	private Long existingId;
 	private Long nonExistingId;
 	private Long countTotalProducts;
@@ -53,7 +93,7 @@ public class ProductServiceIT {
 	public void findAllPagedShouldReturnPagedWhenPage0Size10() {
 		PageRequest pageRequest = PageRequest.of(0,  10);
 		
-		Page<ProductDTO> result = service.findAllPaged(pageRequest);
+		Page<ProductDTO> result = service.findAllPaged(new ProductFilterDTO(), pageRequest);
 		
 		Assertions.assertFalse(result.isEmpty());
 		Assertions.assertEquals(0, result.getNumber());
@@ -61,11 +101,98 @@ public class ProductServiceIT {
 		Assertions.assertEquals(countTotalProducts, result.getTotalElements());
 	}
 	
+	@Test
+	public void findAllCardsShouldReturnFilteredCardsSortedByName() {
+		ProductFilterDTO filter = new ProductFilterDTO();
+		filter.setName("pc gamer");
+		PageRequest pageRequest = PageRequest.of(0, 5, Sort.by("name"));
+		
+		Page<ProductCardDTO> result = service.findAllCards(filter, pageRequest);
+		
+		Assertions.assertEquals(21L, result.getTotalElements());
+		Assertions.assertEquals(5, result.getContent().size());
+		Assertions.assertEquals("PC Gamer", result.getContent().get(0).getName());
+		Assertions.assertNotNull(result.getContent().get(0).getPrice());
+	}
+	
+	@Test
+	public void findAllPagedShouldLoadWholePageWithCategoriesInTwoQueries() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		
+		Page<ProductDTO> result = service.findAllPaged(new ProductFilterDTO(), PageRequest.of(0, 50));
+		
+		Assertions.assertEquals(countTotalProducts, result.getNumberOfElements());
+		Assertions.assertTrue(result.getContent().stream().allMatch(p -> !p.getCategories().isEmpty()));
+		Assertions.assertEquals(2L, statistics.getPrepareStatementCount());
+	}
+	
+	@Test
+	public void findAllPagedShouldSkipCategoriesWhenWithCategoriesIsFalse() {
+		ProductFilterDTO filter = new ProductFilterDTO();
+		filter.setWithCategories(false);
+		
+		Page<ProductDTO> result = service.findAllPaged(filter, PageRequest.of(0, 10));
+		
+		Assertions.assertEquals(10, result.getNumberOfElements());
+		Assertions.assertTrue(result.getContent().stream().allMatch(p -> p.getCategories().isEmpty()));
+	}
+	
+	@Test
+	public void updateShouldWriteOnlyChangedCategoryRows() {
+		ProductDTO dto = service.findById(existingId);
+		dto.getCategories().add(new CategoryDTO(3L, null));
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		
+		service.update(existingId, dto);
+		entityManager.flush();
+		
+		Assertions.assertEquals(0L, statistics.getCollectionRecreateCount());
+		Assertions.assertEquals(1L, statistics.getCollectionUpdateCount());
+		Assertions.assertEquals(2, service.findById(existingId).getCategories().size());
+	}
+	
+	// Duas atualizações sobrepostas: a que leu a versão anterior perde no commit (@Version).
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void updateShouldThrowOptimisticLockingFailureWhenProductChangedConcurrently() {
+		ProductDTO original = service.findById(existingId);
+		ProductDTO first = service.findById(existingId);
+		first.setName("Alterado por outra requisição");
+		ProductDTO second = service.findById(existingId);
+		second.setName("Alterado nesta requisição");
+		TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+		concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		try {
+			Assertions.assertThrows(ObjectOptimisticLockingFailureException.class, () -> {
+				transactionTemplate.executeWithoutResult(status -> {
+					repository.findById(existingId).orElseThrow();
+					concurrent.executeWithoutResult(inner -> service.update(existingId, first));
+					service.update(existingId, second);
+				});
+			});
+			Assertions.assertEquals("Alterado por outra requisição", service.findById(existingId).getName());
+		} finally {
+			service.update(existingId, original);
+		}
+	}
+	
+	@Test
+	public void updateShouldThrowValidationExceptionWhenCategoryDoesNotExist() {
+		ProductDTO dto = service.findById(existingId);
+		dto.getCategories().add(new CategoryDTO(nonExistingId, null));
+		
+		Assertions.assertThrows(ValidationException.class, () -> {
+			service.update(existingId, dto);
+		});
+	}
+	
 	@Test
 	public void findAllPagedShouldReturnEmptyPagedWhenPageDoesNotExist() {
 		PageRequest pageRequest = PageRequest.of(50,  10);
 		
-		Page<ProductDTO> result = service.findAllPaged(pageRequest);
+		Page<ProductDTO> result = service.findAllPaged(new ProductFilterDTO(), pageRequest);
 		
 		Assertions.assertTrue(result.isEmpty());
 	}
@@ -74,12 +201,165 @@ public class ProductServiceIT {
 	public void findAllPagedShouldReturnOrderedPagedWhenSortByName() {
 		PageRequest pageRequest = PageRequest.of(0,  10, Sort.by("name"));
 		
-		Page<ProductDTO> result = service.findAllPaged(pageRequest);
+		Page<ProductDTO> result = service.findAllPaged(new ProductFilterDTO(), pageRequest);
 		
 		Assertions.assertFalse(result.isEmpty());
 		Assertions.assertEquals("Macbook Pro", result.getContent().get(0).getName());
 		Assertions.assertEquals("PC Gamer", result.getContent().get(1).getName());
 		Assertions.assertEquals("PC Gamer Alfa", result.getContent().get(2).getName());
 	}
+	
+	@Test
+	public void findAllPagedShouldReturnFilteredPagedWhenFilterByCategoryAndName() {
+		PageRequest pageRequest = PageRequest.of(0,  10, Sort.by("name"));
+		ProductFilterDTO filter = new ProductFilterDTO();
+		filter.setCategoryId(List.of(3L));
+		filter.setName("gamer");
+		filter.setMaxPrice(1500.0);
+		
+		Page<ProductDTO> result = service.findAllPaged(filter, pageRequest);
+		
+		Assertions.assertEquals(7, result.getTotalElements());
+		Assertions.assertEquals("PC Gamer", result.getContent().get(0).getName());
+		Assertions.assertEquals(3L, result.getContent().get(0).getCategories().get(0).getId());
+	}
+	
+	@Test
+	public void findAllByCursorShouldWalkAllProductsOrderedByNameWithoutRepeating() {
+		List<String> names = new ArrayList<>();
+		String cursor = null;
+		do {
+			CursorPageDTO<ProductDTO> result = service.findAllByCursor(cursor, 10, "name");
+			result.getContent().forEach(item -> names.add(item.getName()));
+			cursor = result.getNextCursor();
+		} while (cursor != null);
+		
+		Assertions.assertEquals(countTotalProducts, names.size());
+		Assertions.assertEquals("Macbook Pro", names.get(0));
+		Assertions.assertEquals("PC Gamer", names.get(1));
+		Assertions.assertEquals("The Lord of the Rings", names.get(names.size() - 1));
+	}
+	
+	@Test
+	public void findAllByCursorShouldNotSkipProductsWithNullName() {
+		Long first = repository.save(new Product(null, null, "Sem nome", 10.0, null, Instant.now())).getId();
+		Long second = repository.save(new Product(null, null, "Sem nome", 20.0, null, Instant.now())).getId();
+		
+		List<Long> ids = new ArrayList<>();
+		String cursor = null;
+		do {
+			CursorPageDTO<ProductDTO> result = service.findAllByCursor(cursor, 1, "name");
+			result.getContent().forEach(item -> ids.add(item.getId()));
+			cursor = result.getNextCursor();
+		} while (cursor != null);
+		
+		Assertions.assertEquals(countTotalProducts + 2, ids.size());
+		Assertions.assertEquals(List.of(first, second), ids.subList(0, 2));
+	}
+	
+	@Test
+	public void findAllByCursorShouldThrowBadRequestExceptionWhenCursorIsInvalid() {
+		Assertions.assertThrows(BadRequestException.class, () -> {
+			service.findAllByCursor("not-a-cursor", 10, "name");
+		});
+	}
+	
+	@Test
+	public void searchShouldReturnRankedProductsWhenTermMatchesName() {
+		PageRequest pageRequest = PageRequest.of(0,  10);
+		
+		Page<ProductDTO> result = service.search("smart tv", pageRequest);
+		
+		Assertions.assertFalse(result.isEmpty());
+		Assertions.assertEquals("Smart TV", result.getContent().get(0).getName());
+	}
+	
+	@Test
+	public void insertBatchShouldPersistValidItemsAndReportInvalidOnes() {
+		ProductDTO valid = Factory.createProductDTO();
+		valid.setId(null);
+		ProductDTO invalid = Factory.createProductDTO();
+		invalid.setId(null);
+		invalid.setName("");
+		
+		List<BatchItemResultDTO> result = service.insertBatch(List.of(valid, invalid, valid));
+		
+		Assertions.assertEquals(BatchItemResultDTO.CREATED, result.get(0).getStatus());
+		Assertions.assertNotNull(result.get(0).getId());
+		Assertions.assertEquals(BatchItemResultDTO.INVALID, result.get(1).getStatus());
+		Assertions.assertEquals("name", result.get(1).getErrors().get(0).getFieldName());
+		Assertions.assertEquals(countTotalProducts + 2, repository.count());
+	}
+
+	@Test
+	public void insertBatchShouldReportNullItemAsInvalid() {
+		ProductDTO valid = Factory.createProductDTO();
+		valid.setId(null);
+		
+		List<BatchItemResultDTO> result = service.insertBatch(Arrays.asList(null, valid));
+		
+		Assertions.assertEquals(BatchItemResultDTO.INVALID, result.get(0).getStatus());
+		Assertions.assertEquals(0, result.get(0).getIndex());
+		Assertions.assertEquals(BatchItemResultDTO.CREATED, result.get(1).getStatus());
+		Assertions.assertEquals(countTotalProducts + 1, repository.count());
+	}
+	
+	// Sem a transação do teste: a falha no flush desfaz a transação do bloco.
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void insertBatchShouldReportOnlyItemThatFailsOnFlush() {
+		ProductDTO valid = Factory.createProductDTO();
+		valid.setId(null);
+		ProductDTO tooLong = Factory.createProductDTO();
+		tooLong.setId(null);
+		tooLong.setImgUrl("https://img.com/" + "x".repeat(300));
+		
+		List<BatchItemResultDTO> result = service.insertBatch(List.of(valid, tooLong, valid));
+		try {
+			Assertions.assertEquals(BatchItemResultDTO.CREATED, result.get(0).getStatus());
+			Assertions.assertEquals(BatchItemResultDTO.FAILED, result.get(1).getStatus());
+			Assertions.assertEquals(BatchItemResultDTO.CREATED, result.get(2).getStatus());
+			Assertions.assertEquals(countTotalProducts + 2, repository.count());
+		} finally {
+			result.stream().filter(item -> item.getId() != null).forEach(item -> service.delete(item.getId()));
+		}
+	}
+
+	// Sem a transação do teste: o cache só é alterado no commit.
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void findAllPagedWithCountShouldKeepTotalPerFilterUntilProductWriteCommits() {
+		ProductFilterDTO all = new ProductFilterDTO();
+		ProductFilterDTO gamer = new ProductFilterDTO();
+		gamer.setName("gamer");
+		PageRequest pageRequest = PageRequest.of(0, 10);
+		try {
+			PageDTO<ProductDTO> result = service.findAllPaged(all, pageRequest, true);
+			Assertions.assertEquals(countTotalProducts, result.getTotal());
+			Assertions.assertTrue(result.getTotalExact());
+			Assertions.assertTrue(service.findAllPaged(gamer, pageRequest, true).getTotal() < countTotalProducts);
+			
+			// Escrita fora do service não invalida; a do service só invalida no commit, e não no rollback.
+			transactionTemplate.executeWithoutResult(status -> {
+				repository.deleteById(existingId);
+				entityManager.flush();
+				Assertions.assertEquals(countTotalProducts, service.findAllPaged(all, pageRequest, true).getTotal());
+				
+				service.delete(2L);
+				entityManager.flush();
+				Assertions.assertEquals(countTotalProducts, service.findAllPaged(all, pageRequest, true).getTotal());
+				status.setRollbackOnly();
+			});
+			Assertions.assertEquals(countTotalProducts, service.findAllPaged(all, pageRequest, true).getTotal());
+			
+			ProductDTO inserted = service.insert(Factory.createProductDTO());
+			Assertions.assertEquals(countTotalProducts + 1, service.findAllPaged(all, pageRequest, true).getTotal());
+			
+			service.delete(inserted.getId());
+			Assertions.assertEquals(countTotalProducts, service.findAllPaged(all, pageRequest, true).getTotal());
+		} finally {
+			countService.invalidate();
+		}
+	}
 
 }
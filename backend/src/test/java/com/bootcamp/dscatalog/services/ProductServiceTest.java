@@ -3,6 +3,10 @@ package com.bootcamp.dscatalog.services;
 import java.util.List;
 import java.util.Optional;
 
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,10 +24,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import com.bootcamp.dscatalog.dto.ProductDTO;
+import com.bootcamp.dscatalog.dto.ProductFilterDTO;
 import com.bootcamp.dscatalog.entities.Product;
+import com.bootcamp.dscatalog.repositories.CategoryRepository;
 import com.bootcamp.dscatalog.repositories.ProductRepository;
 import com.bootcamp.dscatalog.services.exceptions.DataBaseException;
 import com.bootcamp.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.bootcamp.dscatalog.services.exceptions.ValidationException;
+import com.bootcamp.dscatalog.services.search.ProductSearchIndex;
 import com.bootcamp.dscatalog.tests.Factory;
 
 @ExtendWith(SpringExtension.class)
@@ -35,10 +43,25 @@ public class ProductServiceTest {
 	@Mock
 	private ProductRepository repository;
 
+	@Mock
+	private ProductSearchIndex searchIndex;
+
+	@Mock
+	private CategoryRepository categoryRepository;
+
+	@Mock
+	private EntityManager entityManager;
+
+	@Mock
+	private EntityManagerFactory entityManagerFactory;
+
+	@Mock
+	private Cache secondLevelCache;
+
 	private long existingId;
 	private long nonExistingId;
 	private long dependentId;
-	private PageImpl<Product> page;
+	private PageImpl<Long> page;
 	private Product product;
 
 	@BeforeEach
@@ -47,15 +70,35 @@ public class ProductServiceTest {
 		nonExistingId = 1000L;
 		dependentId = 4L;
 		product = Factory.createProduct();
-		page = new PageImpl<>(List.of(product));
+		page = new PageImpl<>(List.of(product.getId()));
 
 		Mockito.doNothing().when(repository).deleteById(existingId);
 		Mockito.doThrow(EmptyResultDataAccessException.class).when(repository).deleteById(nonExistingId);
 		Mockito.doThrow(DataIntegrityViolationException.class).when(repository).deleteById(dependentId);
-		Mockito.when(repository.findAll((Pageable) ArgumentMatchers.any())).thenReturn(page);
+		Mockito.when(repository.searchIds(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(),
+				ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any()))
+				.thenReturn(page);
+		Mockito.when(repository.findWithCategories(ArgumentMatchers.any())).thenReturn(List.of(product));
 		Mockito.when(repository.save(ArgumentMatchers.any())).thenReturn(product);
 		Mockito.when(repository.findById(existingId)).thenReturn(Optional.of(product));
 		Mockito.when(repository.findById(nonExistingId)).thenReturn(Optional.empty());
+		Mockito.when(repository.findWithCategoriesById(existingId)).thenReturn(Optional.of(product));
+		Mockito.when(categoryRepository.findAllById(ArgumentMatchers.any())).thenReturn(List.of());
+		Mockito.when(entityManager.getEntityManagerFactory()).thenReturn(entityManagerFactory);
+		Mockito.when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
+	}
+
+	@Test
+	public void updateShouldThrowValidationExceptionWhenCategoryDoesNotExist() {
+		ProductDTO dto = Factory.createProductDTO();
+
+		ValidationException e = Assertions.assertThrows(ValidationException.class, () -> {
+			service.update(existingId, dto);
+		});
+
+		Assertions.assertEquals("categories", e.getErrors().get(0).getFieldName());
+		Mockito.verify(categoryRepository, Mockito.times(1)).findAllById(List.of(2L));
+		Mockito.verify(repository, Mockito.never()).save(ArgumentMatchers.any());
 	}
 
 	@Test
@@ -89,10 +132,12 @@ public class ProductServiceTest {
 	public void findAllPagedShoulReturnPage() {
 		Pageable pageable = PageRequest.of(0, 10);
 
-		Page<ProductDTO> result = service.findAllPaged(pageable);
+		Page<ProductDTO> result = service.findAllPaged(new ProductFilterDTO(), pageable);
 
 		Assertions.assertNotNull(result);
-		Mockito.verify(repository).findAll(pageable);
+		Assertions.assertFalse(result.getContent().get(0).getCategories().isEmpty());
+		Mockito.verify(repository).searchIds(null, "", null, null, null, null, pageable);
+		Mockito.verify(repository).findWithCategories(List.of(product.getId()));
 	}
 	
 	@Test
@@ -0,0 +1,428 @@
+package com.bootcamp.dscatalog.services;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bootcamp.dscatalog.dto.CategoryDTO;
+import com.bootcamp.dscatalog.dto.PageDTO;
+import com.bootcamp.dscatalog.dto.ProductDTO;
+import com.bootcamp.dscatalog.dto.ProductFilterDTO;
+import com.bootcamp.dscatalog.dto.RoleDTO;
+import com.bootcamp.dscatalog.dto.UserDTO;
+import com.bootcamp.dscatalog.dto.UserInsertDTO;
+import com.bootcamp.dscatalog.dto.UserUpdateDTO;
+import com.bootcamp.dscatalog.entities.Category;
+import com.bootcamp.dscatalog.entities.Role;
+import com.bootcamp.dscatalog.entities.User;
+import com.bootcamp.dscatalog.repositories.RoleRepository;
+import com.bootcamp.dscatalog.repositories.UserRepository;
+import com.bootcamp.dscatalog.services.export.ExportFormat;
+import com.bootcamp.dscatalog.tests.CountingDataSource;
+import com.bootcamp.dscatalog.tests.Factory;
+import com.bootcamp.dscatalog.tests.SqlStatementCounter;
+import com.bootcamp.dscatalog.tests.SqlStatementCounter.SqlStatements;
+
+/*
+ * Limite de comandos SQL por método de service, com caches frios (segundo nível e Spring):
+ * um carregamento lazy por item (N+1) em Product.categories ou User.roles estoura o limite.
+ * Escritas fazem flush dentro da gravação para os inserts/updates entrarem na contagem.
+ */
+@SpringBootTest
+@Import(CountingDataSource.class)
+@Transactional
+public class QueryCountIT {
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private CategoryService categoryService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private Long existingId;
+
+	@BeforeEach
+	void setUp() {
+		existingId = 1L;
+		clearCaches();
+	}
+
+	@Test
+	public void productFindAllPagedShouldRunAtMostThreeSelects() {
+		SqlStatements sql = SqlStatementCounter.record(() ->
+				Assertions.assertEquals(12, productService.findAllPaged(new ProductFilterDTO(), PageRequest.of(0, 12)).getNumberOfElements()));
+
+		// ids da página, count e produtos com categorias (join fetch)
+		sql.assertSelectsAtMost(3);
+	}
+
+	@Test
+	public void productFindAllPagedWithoutCategoriesShouldRunAtMostThreeSelects() {
+		ProductFilterDTO filter = new ProductFilterDTO();
+		filter.setWithCategories(false);
+
+		SqlStatementCounter.record(() -> productService.findAllPaged(filter, PageRequest.of(0, 12)))
+				.assertSelectsAtMost(3);
+	}
+
+	@Test
+	public void productFindAllPagedWithoutCountShouldSkipCountQuery() {
+		SqlStatements sql = SqlStatementCounter.record(() -> {
+			PageDTO<ProductDTO> page = productService.findAllPaged(new ProductFilterDTO(), PageRequest.of(0, 12), false);
+			Assertions.assertEquals(12, page.getItems().size());
+			Assertions.assertTrue(page.getHasNext());
+		});
+
+		// ids da página (size + 1) e produtos com categorias
+		sql.assertSelectsAtMost(2);
+	}
+
+	// Sem a transação do teste: o total só entra no cache no commit da leitura.
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void productFindAllPagedWithCountShouldCountOncePerFilter() {
+		SqlStatementCounter.record(() -> productService.findAllPaged(new ProductFilterDTO(), PageRequest.of(0, 12), true))
+				.assertSelectsAtMost(3);
+
+		// total do mesmo filtro já em cache
+		SqlStatementCounter.record(() -> productService.findAllPaged(new ProductFilterDTO(), PageRequest.of(1, 12), true))
+				.assertSelectsAtMost(2);
+	}
+
+	@Test
+	public void productFindAllPagedWithCountShouldNotCountOnLastPage() {
+		SqlStatementCounter.record(() ->
+				Assertions.assertEquals(25L, productService.findAllPaged(new ProductFilterDTO(), PageRequest.of(2, 12), true).getTotal()))
+				.assertSelectsAtMost(2);
+	}
+
+	@Test
+	public void productFindAllCardsShouldRunAtMostTwoSelects() {
+		SqlStatementCounter.record(() -> productService.findAllCards(new ProductFilterDTO(), PageRequest.of(0, 12)))
+				.assertSelectsAtMost(2);
+	}
+
+	@Test
+	public void productSearchShouldRunOneSelect() {
+		productService.rebuildSearchIndex();
+		clearCaches();
+
+		SqlStatementCounter.record(() -> productService.search("gamer", PageRequest.of(0, 12)))
+				.assertSelectsAtMost(1);
+	}
+
+	@Test
+	public void productFindAllByCursorShouldRunOneSelect() {
+		SqlStatementCounter.record(() -> productService.findAllByCursor(null, 12, "name"))
+				.assertSelectsAtMost(1);
+	}
+
+	@Test
+	public void productExportShouldRunOneSelect() {
+		SqlStatementCounter.record(() -> productService.export(ExportFormat.CSV, new ByteArrayOutputStream()))
+				.assertSelectsAtMost(1);
+	}
+
+	@Test
+	public void productFindVersionShouldRunOneSelect() {
+		SqlStatementCounter.record(() -> productService.findVersion(existingId))
+				.assertSelectsAtMost(1);
+	}
+
+	@Test
+	public void productFindByIdShouldRunAtMostTwoSelects() {
+		SqlStatementCounter.record(() -> productService.findById(existingId))
+				.assertSelectsAtMost(2);
+	}
+
+	@Test
+	public void productInsertShouldInsertProductAndCategoryRows() {
+		ProductDTO dto = Factory.createProductDTO();
+		dto.setId(null);
+
+		SqlStatements sql = SqlStatementCounter.record(() -> {
+			productService.insert(dto);
+			entityManager.flush();
+		});
+
+		sql.assertInserts(2);
+		sql.assertSelectsAtMost(2);
+	}
+
+	// Fora da transação do teste: o cache READ_WRITE só serve a transações iniciadas depois do carregamento.
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void productInsertShouldResolveCategoriesFromSecondLevelCache() {
+		ProductDTO dto = Factory.createProductDTO();
+		dto.setId(null);
+		transactionTemplate.executeWithoutResult(status ->
+				dto.getCategories().forEach(category -> entityManager.find(Category.class, category.getId())));
+
+		List<ProductDTO> inserted = new ArrayList<>();
+		try {
+			SqlStatements sql = SqlStatementCounter.record(() -> inserted.add(productService.insert(dto)));
+
+			Assertions.assertTrue(sql.getSql().stream().noneMatch(statement -> statement.toLowerCase().contains("from tb_category")),
+					() -> "Categorias buscadas no banco: " + sql.getSql());
+			sql.assertInserts(2);
+		} finally {
+			inserted.forEach(product -> productService.delete(product.getId()));
+		}
+	}
+
+	@Test
+	public void productInsertBatchShouldNotQueryCategoriesPerItem() {
+		List<ProductDTO> items = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			ProductDTO dto = Factory.createProductDTO();
+			dto.setId(null);
+			dto.setName("Produto em lote " + i);
+			items.add(dto);
+		}
+
+		SqlStatements sql = SqlStatementCounter.record(() -> productService.insertBatch(items));
+
+		// categorias numa consulta + blocos de ids da sequence; inserts em batch JDBC de 50
+		sql.assertSelectsAtMost(4);
+		sql.assertTotalAtMost(12);
+	}
+
+	@Test
+	public void productUpdateShouldRunAtMostTwoSelectsAndOneUpdate() {
+		ProductDTO dto = productService.findById(existingId);
+		dto.setName("Produto alterado");
+		clearCaches();
+
+		SqlStatements sql = SqlStatementCounter.record(() -> {
+			productService.update(existingId, dto);
+			entityManager.flush();
+		});
+
+		// categorias (findAllById, cache frio) e produto com categorias (join fetch)
+		sql.assertSelectsAtMost(2);
+		sql.assertUpdates(1);
+		sql.assertInserts(0);
+		sql.assertDeletes(0);
+	}
+
+	@Test
+	public void productDeleteShouldDeleteProductAndCategoryRows() {
+		SqlStatements sql = SqlStatementCounter.record(() -> {
+			productService.delete(existingId);
+			entityManager.flush();
+		});
+
+		sql.assertSelectsAtMost(2);
+		sql.assertDeletes(2);
+	}
+
+	@Test
+	public void categoryFindAllPagedShouldRunAtMostTwoSelectsThenHitCache() {
+		SqlStatementCounter.record(() -> categoryService.findAllPaged(PageRequest.of(0, 10)))
+				.assertSelectsAtMost(2);
+
+		SqlStatementCounter.record(() -> categoryService.findAllPaged(PageRequest.of(0, 10)))
+				.assertSelects(0);
+	}
+
+	@Test
+	public void categoryFindAllPagedWithoutCountShouldRunOneSelect() {
+		SqlStatementCounter.record(() -> categoryService.findAllPaged(PageRequest.of(0, 10), false))
+				.assertSelectsAtMost(1);
+	}
+
+	@Test
+	public void categoryFindByIdShouldRunOneSelect() {
+		SqlStatementCounter.record(() -> categoryService.findById(1L))
+				.assertSelectsAtMost(1);
+	}
+
+	@Test
+	public void categoryFindAllByCursorShouldRunOneSelect() {
+		SqlStatementCounter.record(() -> categoryService.findAllByCursor(null, 10, "name"))
+				.assertSelectsAtMost(1);
+	}
+
+	@Test
+	public void categoryInsertUpdateDeleteShouldRunOneWriteEach() {
+		CategoryDTO created = categoryService.insert(new CategoryDTO(null, "Games"));
+		entityManager.flush();
+		entityManager.clear();
+
+		SqlStatements update = SqlStatementCounter.record(() -> {
+			categoryService.update(created.getId(), new CategoryDTO(null, "Jogos"));
+			entityManager.flush();
+		});
+		update.assertSelectsAtMost(1);
+		update.assertUpdates(1);
+
+		SqlStatements delete = SqlStatementCounter.record(() -> {
+			categoryService.delete(created.getId());
+			entityManager.flush();
+		});
+		delete.assertSelectsAtMost(1);
+		delete.assertDeletes(1);
+	}
+
+	@Test
+	public void userFindAllPagedShouldNotLoadRolesPerUser() {
+		insertUsers(20);
+
+		SqlStatements sql = SqlStatementCounter.record(() ->
+				Assertions.assertEquals(20, userService.findAllPaged(PageRequest.of(0, 20)).getNumberOfElements()));
+
+		// página, count e papéis de todos os usuários da página em uma consulta
+		sql.assertSelectsAtMost(3);
+	}
+
+	@Test
+	public void userFindAllPagedWithoutCountShouldSkipCountQuery() {
+		insertUsers(20);
+
+		SqlStatementCounter.record(() -> userService.findAllPaged(PageRequest.of(0, 10), false))
+				.assertSelectsAtMost(2);
+	}
+
+	@Test
+	public void userFindAllByCursorShouldNotLoadRolesPerUser() {
+		insertUsers(20);
+
+		SqlStatementCounter.record(() -> userService.findAllByCursor(null, 20, "email"))
+				.assertSelectsAtMost(2);
+	}
+
+	@Test
+	public void userFindByIdShouldRunAtMostTwoSelects() {
+		SqlStatementCounter.record(() -> userService.findById(2L))
+				.assertSelectsAtMost(2);
+	}
+
+	@Test
+	public void userFindVersionShouldRunOneSelect() {
+		SqlStatementCounter.record(() -> userService.findVersion(1L))
+				.assertSelectsAtMost(1);
+	}
+
+	@Test
+	public void userInsertShouldInsertUserAndRoleRows() {
+		UserInsertDTO dto = newUser("guard@gmail.com");
+
+		SqlStatements sql = SqlStatementCounter.record(() -> {
+			userService.insert(dto);
+			entityManager.flush();
+		});
+
+		sql.assertInserts(2);
+		sql.assertSelectsAtMost(1);
+	}
+
+	@Test
+	public void userInsertBatchShouldCheckEmailsOnceAndInsertInBatches() {
+		List<UserInsertDTO> items = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			items.add(newUser("guard" + i + "@gmail.com"));
+		}
+
+		SqlStatements sql = SqlStatementCounter.record(() -> userService.insertBatch(items));
+
+		// emails existentes numa consulta + ids da sequence; users e tb_user_role em batch JDBC
+		sql.assertSelectsAtMost(2);
+		sql.assertInserts(2);
+	}
+
+	@Test
+	public void userUpdateShouldRunAtMostTwoSelectsAndOneUpdate() {
+		UserUpdateDTO dto = new UserUpdateDTO();
+		dto.setFirstName("Alex");
+		dto.setLastName("Green");
+		dto.setEmail("alex@gmail.com");
+		dto.getRoles().add(new RoleDTO(1L, null));
+
+		SqlStatements sql = SqlStatementCounter.record(() -> {
+			UserDTO result = userService.update(1L, dto);
+			entityManager.flush();
+			Assertions.assertEquals("Green", result.getLastName());
+		});
+
+		sql.assertSelectsAtMost(2);
+		sql.assertUpdates(1);
+	}
+
+	@Test
+	public void userDeleteShouldDeleteUserAndRoleRows() {
+		SqlStatements sql = SqlStatementCounter.record(() -> {
+			userService.delete(2L);
+			entityManager.flush();
+		});
+
+		sql.assertSelectsAtMost(2);
+		sql.assertDeletes(2);
+	}
+
+	private void insertUsers(int count) {
+		Role operator = roleRepository.findAll().get(0);
+		List<User> users = new ArrayList<>();
+		for (int i = 0; i < count - 2; i++) {
+			User user = new User(null, "Guard", String.valueOf(i), "guard.page" + i + "@gmail.com", "hash");
+			user.getRoles().add(operator);
+			users.add(user);
+		}
+		userRepository.saveAll(users);
+		entityManager.flush();
+		clearCaches();
+	}
+
+	private UserInsertDTO newUser(String email) {
+		UserInsertDTO dto = new UserInsertDTO();
+		dto.setFirstName("Guard");
+		dto.setLastName("User");
+		dto.setEmail(email);
+		dto.setPassword("123456");
+		dto.getRoles().add(new RoleDTO(1L, null));
+		return dto;
+	}
+
+	private void clearCaches() {
+		entityManager.clear();
+		entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+		cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+	}
+
+}
@@ -0,0 +1,53 @@
+package com.bootcamp.dscatalog.services;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bootcamp.dscatalog.entities.Role;
+import com.bootcamp.dscatalog.repositories.RoleRepository;
+
+public class RoleDictionaryTest {
+
+	private RoleRepository repository;
+	private RoleDictionary dictionary;
+	private Role operator;
+	private Role admin;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		repository = Mockito.mock(RoleRepository.class);
+		dictionary = new RoleDictionary();
+		ReflectionTestUtils.setField(dictionary, "repository", repository);
+		ReflectionTestUtils.setField(dictionary, "refreshIntervalMillis", 60_000L);
+		operator = new Role(1L, "ROLE_OPERATOR");
+		admin = new Role(2L, "ROLE_ADMIN");
+		Mockito.when(repository.findAll()).thenReturn(List.of(operator));
+		dictionary.refresh();
+	}
+
+	@Test
+	public void getRoleShouldNotQueryDatabaseForEachUnknownIdWithinInterval() {
+		for (int i = 0; i < 100; i++) {
+			Assertions.assertNull(dictionary.getRole(99L));
+		}
+
+		Mockito.verify(repository, Mockito.times(1)).findAll();
+	}
+
+	@Test
+	public void getRoleShouldFindRoleCreatedAfterStartupOnceIntervalElapses() {
+		ReflectionTestUtils.setField(dictionary, "refreshIntervalMillis", 0L);
+		Mockito.when(repository.findAll()).thenReturn(List.of(operator, admin));
+
+		Assertions.assertSame(admin, dictionary.getRole(2L));
+		Assertions.assertSame(operator, dictionary.getRole(1L));
+
+		Mockito.verify(repository, Mockito.times(2)).findAll();
+	}
+
+}
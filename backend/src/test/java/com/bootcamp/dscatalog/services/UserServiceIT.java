@@ -0,0 +1,175 @@
+package com.bootcamp.dscatalog.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bootcamp.dscatalog.dto.BatchItemResultDTO;
+import com.bootcamp.dscatalog.dto.RoleDTO;
+import com.bootcamp.dscatalog.dto.UserDTO;
+import com.bootcamp.dscatalog.dto.UserInsertDTO;
+import com.bootcamp.dscatalog.dto.UserUpdateDTO;
+import com.bootcamp.dscatalog.repositories.UserRepository;
+import com.bootcamp.dscatalog.services.exceptions.ValidationException;
+
+@SpringBootTest
+@Transactional
+public class UserServiceIT {
+
+	@Autowired
+	private UserService service;
+
+	@Autowired
+	private EmailBloomFilter emailFilter;
+
+	@Autowired
+	private UserRepository repository;
+
+	@Autowired
+	private BCryptPasswordEncoder passwordEncoder;
+
+	private Long operatorId;
+	private Long adminId;
+	private Long nonExistingRoleId;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		operatorId = 1L;
+		adminId = 2L;
+		nonExistingRoleId = 1000L;
+	}
+
+	@Test
+	public void findByIdShouldShareRoleDtosBetweenUsers() {
+		UserDTO alex = service.findById(1L);
+		UserDTO maria = service.findById(2L);
+
+		RoleDTO alexOperator = alex.getRoles().iterator().next();
+		Assertions.assertTrue(maria.getRoles().stream().anyMatch(role -> role == alexOperator));
+		Assertions.assertEquals(2, maria.getRoles().size());
+	}
+
+	@Test
+	public void updateShouldReplaceRolesFromDictionary() {
+		UserUpdateDTO dto = toUpdateDTO(service.findById(1L));
+		dto.getRoles().clear();
+		dto.getRoles().add(new RoleDTO(adminId, null));
+
+		UserDTO result = service.update(1L, dto);
+
+		Assertions.assertEquals(1, result.getRoles().size());
+		Assertions.assertEquals("ROLE_ADMIN", result.getRoles().iterator().next().getAuthority());
+	}
+
+	@Test
+	public void updateShouldThrowValidationExceptionWhenRoleDoesNotExist() {
+		UserUpdateDTO dto = toUpdateDTO(service.findById(1L));
+		dto.getRoles().add(new RoleDTO(nonExistingRoleId, null));
+
+		ValidationException e = Assertions.assertThrows(ValidationException.class, () -> {
+			service.update(1L, dto);
+		});
+		Assertions.assertEquals("roles", e.getErrors().get(0).getFieldName());
+	}
+
+	@Test
+	public void insertShouldStoreHashedPasswordAndRoles() {
+		UserInsertDTO dto = new UserInsertDTO();
+		dto.setFirstName("Bob");
+		dto.setLastName("Gray");
+		dto.setEmail("bob@gmail.com");
+		dto.setPassword("123456");
+		dto.getRoles().add(new RoleDTO(operatorId, null));
+
+		UserDTO result = service.insert(dto);
+
+		Assertions.assertNotNull(result.getId());
+		Assertions.assertEquals(1, result.getRoles().size());
+		Assertions.assertTrue(passwordEncoder.matches("123456", repository.findById(result.getId()).get().getPassword()));
+		Assertions.assertTrue(emailFilter.mightContain("bob@gmail.com"));
+	}
+
+	@Test
+	public void insertBatchShouldCreateValidUsersAndReportInvalidOnes() {
+		List<UserInsertDTO> items = new ArrayList<>();
+		for (int i = 0; i < 60; i++) {
+			items.add(newUser("bulk" + i + "@gmail.com", operatorId));
+		}
+		items.add(newUser("alex@gmail.com", operatorId));
+		items.add(newUser("bulk0@gmail.com", operatorId));
+		items.add(newUser("bulk-role@gmail.com", nonExistingRoleId));
+
+		List<BatchItemResultDTO> results = service.insertBatch(items);
+
+		Assertions.assertEquals(items.size(), results.size());
+		Assertions.assertEquals(60L, results.stream().filter(r -> BatchItemResultDTO.CREATED.equals(r.getStatus())).count());
+		Assertions.assertEquals("Email já existe!!", results.get(60).getErrors().get(0).getMessage());
+		Assertions.assertEquals("email", results.get(60).getErrors().get(0).getFieldName());
+		Assertions.assertEquals("Email repetido no lote", results.get(61).getErrors().get(0).getMessage());
+		Assertions.assertEquals("roles", results.get(62).getErrors().get(0).getFieldName());
+		Assertions.assertEquals(62L, repository.count());
+		Assertions.assertTrue(passwordEncoder.matches("123456",
+				repository.findById(results.get(0).getId()).get().getPassword()));
+	}
+
+	@Test
+	public void emailFilterShouldContainRegisteredEmailsAndRejectUnknownOnes() {
+		emailFilter.rebuild();
+
+		Assertions.assertTrue(emailFilter.mightContain("alex@gmail.com"));
+		Assertions.assertTrue(emailFilter.mightContain("maria@gmail.com"));
+		Assertions.assertFalse(emailFilter.mightContain("nobody@gmail.com"));
+	}
+
+	@Test
+	public void updateShouldAddNewEmailToFilter() {
+		UserUpdateDTO dto = toUpdateDTO(service.findById(1L));
+		dto.setEmail("alex.brown@gmail.com");
+
+		service.update(1L, dto);
+
+		Assertions.assertTrue(emailFilter.mightContain("alex.brown@gmail.com"));
+	}
+
+	// Sem a transação do teste, para a violação acontecer como em produção, fora do validator.
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void insertShouldThrowValidationExceptionWhenEmailIsTakenAfterValidation() {
+		long count = repository.count();
+
+		ValidationException e = Assertions.assertThrows(ValidationException.class, () -> {
+			service.insert(newUser("alex@gmail.com", operatorId));
+		});
+
+		Assertions.assertEquals("email", e.getErrors().get(0).getFieldName());
+		Assertions.assertEquals(count, repository.count());
+	}
+
+	private UserInsertDTO newUser(String email, Long roleId) {
+		UserInsertDTO dto = new UserInsertDTO();
+		dto.setFirstName("Bulk");
+		dto.setLastName("User");
+		dto.setEmail(email);
+		dto.setPassword("123456");
+		dto.getRoles().add(new RoleDTO(roleId, null));
+		return dto;
+	}
+
+	private UserUpdateDTO toUpdateDTO(UserDTO user) {
+		UserUpdateDTO dto = new UserUpdateDTO();
+		dto.setFirstName(user.getFirstName());
+		dto.setLastName(user.getLastName());
+		dto.setEmail(user.getEmail());
+		dto.getRoles().add(new RoleDTO(operatorId, null));
+		return dto;
+	}
+
+}
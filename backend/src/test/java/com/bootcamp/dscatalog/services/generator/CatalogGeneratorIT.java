@@ -0,0 +1,57 @@
+package com.bootcamp.dscatalog.services.generator;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+// Banco próprio para não misturar os dados gerados com o testdb dos outros testes e sem cache de
+// segundo nível: o CacheManager JCache é único na JVM e fechar este contexto o fecharia para os demais.
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:generatordb",
+		"spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+		"spring.jpa.properties.hibernate.cache.use_query_cache=false",
+		"dscatalog.generator.products=3000",
+		"dscatalog.generator.categories=50",
+		"dscatalog.generator.users=500",
+		"dscatalog.generator.chunk-size=1000",
+		"dscatalog.password.strength=4" })
+@ActiveProfiles({ "test", "generate" })
+@DirtiesContext
+public class CatalogGeneratorIT {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	public void generatorShouldInsertConfiguredVolumeOnTopOfSeed() {
+		Assertions.assertEquals(25L + 3000L, count("SELECT COUNT(*) FROM tb_product"));
+		Assertions.assertEquals(3L + 50L, count("SELECT COUNT(*) FROM tb_category"));
+		Assertions.assertEquals(2L + 500L, count("SELECT COUNT(*) FROM tb_user"));
+		Assertions.assertEquals(0L, count("SELECT COUNT(*) FROM tb_user u WHERE NOT EXISTS "
+				+ "(SELECT 1 FROM tb_user_role ur WHERE ur.user_id = u.id)"));
+		Assertions.assertEquals(0L, count("SELECT COUNT(*) FROM tb_product p WHERE NOT EXISTS "
+				+ "(SELECT 1 FROM tb_product_category pc WHERE pc.product_id = p.id)"));
+	}
+
+	@Test
+	public void categoryMembershipShouldBeSkewed() {
+		List<Long> sizes = jdbcTemplate.queryForList("SELECT COUNT(*) FROM tb_product_category "
+				+ "GROUP BY category_id ORDER BY COUNT(*) DESC", Long.class);
+		long total = sizes.stream().mapToLong(Long::longValue).sum();
+		long top = sizes.stream().limit(sizes.size() / 10).mapToLong(Long::longValue).sum();
+
+		Assertions.assertTrue(top > total * 0.3, "10% das categorias deveriam concentrar boa parte dos produtos");
+		Assertions.assertTrue(sizes.get(0) > 10 * sizes.get(sizes.size() - 1));
+	}
+
+	private long count(String sql) {
+		return jdbcTemplate.queryForObject(sql, Long.class);
+	}
+
+}
@@ -0,0 +1,110 @@
+package com.bootcamp.dscatalog.services.imports;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bootcamp.dscatalog.dto.ImportJobDTO;
+import com.bootcamp.dscatalog.dto.ImportRequestDTO;
+import com.bootcamp.dscatalog.services.exceptions.BadRequestException;
+import com.bootcamp.dscatalog.services.exceptions.ResourceNotFoundException;
+
+@SpringBootTest
+public class ProductImportServiceIT {
+
+	@Autowired
+	private ProductImportService service;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@TempDir
+	Path baseDir;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		ReflectionTestUtils.setField(service, "baseDir", baseDir.toString());
+		ReflectionTestUtils.setField(service, "chunkSize", 2);
+	}
+
+	// O import grava em transações próprias, então os dados precisam ser removidos à mão.
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM tb_product_category WHERE product_id IN "
+				+ "(SELECT id FROM tb_product WHERE name LIKE 'Importado%')");
+		jdbcTemplate.update("DELETE FROM tb_product WHERE name LIKE 'Importado%'");
+	}
+
+	@Test
+	public void startShouldImportValidRowsAndReportInvalidOnes() throws Exception {
+		Files.writeString(baseDir.resolve("products.csv"),
+				"id,name,description,price,imgUrl,date,categories\n"
+				+ ",Importado A,\"Descricao, com virgula\",10.5,,2020-07-13T20:50:07Z,1;Computadores\n"
+				+ ",Importado B,Desc,20.0,,2020-07-13T20:50:07Z,2\n"
+				+ ",Importado C,Desc,-1.0,,2020-07-13T20:50:07Z,1\n"
+				+ ",Importado D,Desc,abc,,2020-07-13T20:50:07Z,1\n"
+				+ ",Importado E,Desc,5.0,,2020-07-13T20:50:07Z,Inexistente\n"
+				+ ",Importado F,Desc,7.0,,2020-07-13T20:50:07Z,3\n"
+				+ ",,Desc,-1.0,,2020-07-13T20:50:07Z,Inexistente;Outra\n",
+				StandardCharsets.UTF_8);
+
+		ImportJobDTO job = service.start(new ImportRequestDTO("products.csv", "csv"));
+		job = awaitFinished(job.getId());
+
+		Assertions.assertEquals(ImportJob.COMPLETED, job.getStatus());
+		Assertions.assertEquals(ProductBulkWriter.MODE_BATCH, job.getMode());
+		Assertions.assertEquals(7L, job.getRead());
+		Assertions.assertEquals(3L, job.getImported());
+		Assertions.assertEquals(4L, job.getRejected());
+		Assertions.assertEquals(job.getRead(), job.getImported() + job.getRejected());
+		Assertions.assertEquals(7, job.getErrors().size());
+		Assertions.assertEquals(3, jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM tb_product WHERE name LIKE 'Importado%'", Integer.class));
+		Assertions.assertEquals(2, jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM tb_product_category pc JOIN tb_product p ON p.id = pc.product_id "
+				+ "WHERE p.name = 'Importado A'", Integer.class));
+	}
+
+	@Test
+	public void startShouldEvictOldestFinishedJobsBeyondMaxJobs() throws Exception {
+		ReflectionTestUtils.setField(service, "maxJobs", 1);
+		Files.writeString(baseDir.resolve("empty.csv"), "id,name,description,price,imgUrl,date,categories\n",
+				StandardCharsets.UTF_8);
+		try {
+			ImportJobDTO first = awaitFinished(service.start(new ImportRequestDTO("empty.csv", "csv")).getId());
+			ImportJobDTO second = awaitFinished(service.start(new ImportRequestDTO("empty.csv", "csv")).getId());
+
+			Assertions.assertEquals(ImportJob.COMPLETED, second.getStatus());
+			Assertions.assertThrows(ResourceNotFoundException.class, () -> service.findById(first.getId()));
+		} finally {
+			ReflectionTestUtils.setField(service, "maxJobs", 100);
+		}
+	}
+
+	@Test
+	public void startShouldThrowBadRequestExceptionWhenPathEscapesBaseDir() {
+		Assertions.assertThrows(BadRequestException.class, () -> {
+			service.start(new ImportRequestDTO("../products.csv", "csv"));
+		});
+	}
+
+	private ImportJobDTO awaitFinished(Long id) throws InterruptedException {
+		ImportJobDTO job = service.findById(id);
+		for (int i = 0; i < 100 && ImportJob.RUNNING.equals(job.getStatus()); i++) {
+			Thread.sleep(100);
+			job = service.findById(id);
+		}
+		return job;
+	}
+
+}
@@ -0,0 +1,138 @@
+package com.bootcamp.dscatalog.services.search;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import org.apache.lucene.index.IndexWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bootcamp.dscatalog.entities.Product;
+import com.bootcamp.dscatalog.repositories.ProductRepository;
+
+public class ProductSearchIndexTest {
+
+	private ProductRepository repository;
+	private ProductSearchIndex index;
+	private Product lord;
+	private Product phone;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		repository = Mockito.mock(ProductRepository.class);
+		index = new ProductSearchIndex(repository);
+		ReflectionTestUtils.setField(index, "indexDir", "");
+		index.open();
+		lord = new Product(1L, "The Lord of the Rings", "Livro", 90.5, null, Instant.now());
+		phone = new Product(2L, "Phone", "Good Phone", 800.0, null, Instant.now());
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		if (Files.exists(path())) {
+			index.close();
+		}
+	}
+
+	@Test
+	public void rebuildShouldKeepIndexSearchableAndNotDuplicateConcurrentWrites() {
+		index.index(lord);
+		Mockito.when(repository.findAllByOrderByIdAsc(ArgumentMatchers.any())).thenAnswer(invocation -> {
+			// Escrita confirmada durante a reconstrução: publica o índice no meio do processo.
+			index.index(phone);
+			Assertions.assertEquals(1L, index.search("lord", PageRequest.of(0, 10)).getTotalElements());
+			return List.of(lord, phone);
+		});
+		Mockito.when(repository.findByIdGreaterThanOrderByIdAsc(ArgumentMatchers.anyLong(), ArgumentMatchers.any()))
+				.thenReturn(List.of());
+
+		Assertions.assertEquals(2L, index.rebuild());
+
+		Assertions.assertEquals(1L, index.search("phone", PageRequest.of(0, 10)).getTotalElements());
+		Assertions.assertEquals(1L, index.search("lord", PageRequest.of(0, 10)).getTotalElements());
+	}
+
+	@Test
+	public void rebuildShouldDropProductsNoLongerInDatabase() {
+		index.index(lord);
+		index.index(phone);
+		Mockito.when(repository.findAllByOrderByIdAsc(ArgumentMatchers.any())).thenReturn(List.of(phone));
+		Mockito.when(repository.findByIdGreaterThanOrderByIdAsc(ArgumentMatchers.anyLong(), ArgumentMatchers.any()))
+				.thenReturn(List.of());
+
+		index.rebuild();
+
+		Assertions.assertEquals(0L, index.search("lord", PageRequest.of(0, 10)).getTotalElements());
+		Assertions.assertEquals(1L, index.search("phone", PageRequest.of(0, 10)).getTotalElements());
+	}
+
+	@Test
+	public void closeShouldDeleteTemporaryDirectory() throws Exception {
+		Path path = path();
+		Assertions.assertTrue(Files.exists(path));
+
+		index.close();
+
+		Assertions.assertFalse(Files.exists(path));
+	}
+
+	@Test
+	public void rebuildIfNeededShouldRebuildPersistentIndexAfterUncleanShutdown(@TempDir Path dir) throws Exception {
+		ProductSearchIndex persistent = openPersistent(dir);
+		persistent.index(lord);
+		persistent.commit();
+		persistent.index(phone);
+		// Queda do processo: descarta o que não foi gravado e libera o lock sem fechar o índice.
+		((IndexWriter) ReflectionTestUtils.getField(persistent, "writer")).rollback();
+		Mockito.when(repository.findAllByOrderByIdAsc(ArgumentMatchers.any())).thenReturn(List.of(lord, phone));
+		Mockito.when(repository.findByIdGreaterThanOrderByIdAsc(ArgumentMatchers.anyLong(), ArgumentMatchers.any()))
+				.thenReturn(List.of());
+
+		ProductSearchIndex reopened = openPersistent(dir);
+		try {
+			reopened.rebuildIfNeeded();
+
+			Assertions.assertEquals(1L, reopened.search("phone", PageRequest.of(0, 10)).getTotalElements());
+		} finally {
+			reopened.close();
+		}
+	}
+
+	@Test
+	public void rebuildIfNeededShouldKeepPersistentIndexAfterCleanShutdown(@TempDir Path dir) throws Exception {
+		ProductSearchIndex persistent = openPersistent(dir);
+		persistent.index(lord);
+		persistent.close();
+
+		ProductSearchIndex reopened = openPersistent(dir);
+		try {
+			reopened.rebuildIfNeeded();
+
+			Mockito.verify(repository, Mockito.never()).findAllByOrderByIdAsc(ArgumentMatchers.any());
+			Assertions.assertEquals(1L, reopened.search("lord", PageRequest.of(0, 10)).getTotalElements());
+		} finally {
+			reopened.close();
+		}
+	}
+
+	private ProductSearchIndex openPersistent(Path dir) throws Exception {
+		ProductSearchIndex persistent = new ProductSearchIndex(repository);
+		ReflectionTestUtils.setField(persistent, "indexDir", dir.toString());
+		persistent.open();
+		return persistent;
+	}
+
+	private Path path() {
+		return (Path) ReflectionTestUtils.getField(index, "path");
+	}
+
+}
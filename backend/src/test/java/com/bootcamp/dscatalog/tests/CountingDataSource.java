@@ -0,0 +1,111 @@
+package com.bootcamp.dscatalog.tests;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/*
+ * Envolve o DataSource da aplicação e repassa cada execução de comando ao SqlStatementCounter.
+ * Só entra no contexto de quem o importa (@Import), então os demais testes usam o DataSource puro.
+ * Por ser um DelegatingDataSource, unwrap continua chegando ao HikariDataSource e à conexão do driver.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class CountingDataSource {
+
+	// static: o post processor é criado antes dos outros beans, sem depender desta configuração.
+	@Bean
+	public static BeanPostProcessor countingDataSourcePostProcessor() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource && !(bean instanceof Counting)) {
+					return new Counting((DataSource) bean);
+				}
+				return bean;
+			}
+		};
+	}
+
+	static class Counting extends DelegatingDataSource {
+
+		Counting(DataSource target) {
+			super(target);
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			return wrap(super.getConnection());
+		}
+
+		@Override
+		public Connection getConnection(String username, String password) throws SQLException {
+			return wrap(super.getConnection(username, password));
+		}
+
+		private static Connection wrap(Connection connection) {
+			return proxy(Connection.class, connection, (proxy, method, args) -> {
+				Object result = invoke(connection, method, args);
+				switch (method.getName()) {
+				case "prepareStatement":
+					return proxy(PreparedStatement.class, result, new StatementHandler(result, (String) args[0]));
+				case "prepareCall":
+					return proxy(CallableStatement.class, result, new StatementHandler(result, (String) args[0]));
+				case "createStatement":
+					return proxy(Statement.class, result, new StatementHandler(result, null));
+				default:
+					return result;
+				}
+			});
+		}
+	}
+
+	private static class StatementHandler implements InvocationHandler {
+
+		private final Object target;
+		private final String preparedSql;
+
+		StatementHandler(Object target, String preparedSql) {
+			this.target = target;
+			this.preparedSql = preparedSql;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			if (method.getName().startsWith("execute")) {
+				String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+				if (sql != null) {
+					SqlStatementCounter.executed(sql);
+				}
+			}
+			return CountingDataSource.invoke(target, method, args);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+		// unwrap/isWrapperFor são repassados ao objeto real, então o driver continua acessível.
+		return (T) Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(), new Class<?>[] { type }, handler);
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+}
@@ -0,0 +1,136 @@
+package com.bootcamp.dscatalog.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Assertions;
+
+/*
+ * Conta os comandos SQL executados pela thread corrente (via CountingDataSource) e oferece
+ * asserções sobre eles. Uso:
+ *   SqlStatements sql = SqlStatementCounter.record(() -> service.findAllPaged(filter, pageable));
+ *   sql.assertSelectsAtMost(2);
+ * Só a thread que chamou record é contada, então tarefas agendadas não interferem.
+ */
+public final class SqlStatementCounter {
+
+	private static final ThreadLocal<SqlStatements> CURRENT = new ThreadLocal<>();
+
+	private SqlStatementCounter() {
+	}
+
+	public static SqlStatements record(Action action) {
+		SqlStatements statements = new SqlStatements();
+		SqlStatements previous = CURRENT.get();
+		CURRENT.set(statements);
+		try {
+			action.run();
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		} finally {
+			CURRENT.set(previous);
+		}
+		return statements;
+	}
+
+	// Chamado pelo CountingDataSource a cada execução (um executeBatch conta como um comando).
+	static void executed(String sql) {
+		SqlStatements statements = CURRENT.get();
+		if (statements != null) {
+			statements.add(sql);
+		}
+	}
+
+	@FunctionalInterface
+	public interface Action {
+		void run() throws Exception;
+	}
+
+	public static class SqlStatements {
+
+		private final List<String> sql = new ArrayList<>();
+
+		void add(String statement) {
+			sql.add(statement);
+		}
+
+		public List<String> getSql() {
+			return sql;
+		}
+
+		public long count(String command) {
+			return sql.stream().filter(statement -> command.equals(command(statement))).count();
+		}
+
+		public long selects() {
+			return count("select");
+		}
+
+		public long inserts() {
+			return count("insert");
+		}
+
+		public long updates() {
+			return count("update");
+		}
+
+		public long deletes() {
+			return count("delete");
+		}
+
+		public long total() {
+			return sql.size();
+		}
+
+		public SqlStatements assertSelects(long expected) {
+			Assertions.assertEquals(expected, selects(), this::describe);
+			return this;
+		}
+
+		public SqlStatements assertSelectsAtMost(long max) {
+			Assertions.assertTrue(selects() <= max, () -> "Esperado no máximo " + max + " selects. " + describe());
+			return this;
+		}
+
+		public SqlStatements assertInserts(long expected) {
+			Assertions.assertEquals(expected, inserts(), this::describe);
+			return this;
+		}
+
+		public SqlStatements assertUpdates(long expected) {
+			Assertions.assertEquals(expected, updates(), this::describe);
+			return this;
+		}
+
+		public SqlStatements assertDeletes(long expected) {
+			Assertions.assertEquals(expected, deletes(), this::describe);
+			return this;
+		}
+
+		public SqlStatements assertTotalAtMost(long max) {
+			Assertions.assertTrue(total() <= max, () -> "Esperado no máximo " + max + " comandos. " + describe());
+			return this;
+		}
+
+		private String describe() {
+			StringBuilder sb = new StringBuilder("Comandos executados (" + sql.size() + "):");
+			sql.forEach(statement -> sb.append("\n  ").append(statement));
+			return sb.toString();
+		}
+
+		private static String command(String statement) {
+			String trimmed = statement.stripLeading();
+			int end = 0;
+			while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+				end++;
+			}
+			String command = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+			// "with ... select" e "call next value for" entram como select.
+			return command.equals("with") || command.equals("call") || command.equals("values") ? "select" : command;
+		}
+	}
+
+}